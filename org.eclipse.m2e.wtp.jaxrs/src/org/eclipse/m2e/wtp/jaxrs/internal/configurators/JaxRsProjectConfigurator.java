@@ -34,6 +34,7 @@ import org.eclipse.m2e.core.project.MavenProjectChangedEvent;
 import org.eclipse.m2e.core.project.configurator.AbstractProjectConfigurator;
 import org.eclipse.m2e.core.project.configurator.ProjectConfigurationRequest;
 import org.eclipse.m2e.wtp.MavenWtpPlugin;
+import org.eclipse.m2e.wtp.PluginConfigurationCache;
 import org.eclipse.m2e.wtp.ProjectUtils;
 import org.eclipse.m2e.wtp.WTPProjectsUtil;
 import org.eclipse.m2e.wtp.WarPluginConfiguration;
@@ -125,7 +126,7 @@ public class JaxRsProjectConfigurator extends AbstractProjectConfigurator {
 					                      new SubProgressMonitor(monitor, 1));
 			IDataModel model = createJaxRsDataModel(fproj,facetVersion);
 			if (WAR_PACKAGING.equals(mavenProject.getPackaging())) {
-				WarPluginConfiguration warConfig = new WarPluginConfiguration(mavenProject, fproj.getProject());
+				WarPluginConfiguration warConfig = PluginConfigurationCache.getWarPluginConfiguration(mavenProject, fproj.getProject());
 				String warSourceDirectory = warConfig.getWarSourceDirectory();
 				model.setProperty(IJAXRSFacetInstallDataModelProperties.WEBCONTENT_DIR, warSourceDirectory);
 			}
@@ -38,6 +38,7 @@ import org.eclipse.m2e.core.project.IMavenProjectFacade;
 import org.eclipse.m2e.core.project.configurator.AbstractProjectConfigurator;
 import org.eclipse.m2e.core.project.configurator.ProjectConfigurationRequest;
 import org.eclipse.m2e.wtp.MavenWtpPlugin;
+import org.eclipse.m2e.wtp.PluginConfigurationCache;
 import org.eclipse.m2e.wtp.ProjectUtils;
 import org.eclipse.m2e.wtp.ResourceCleaner;
 import org.eclipse.m2e.wtp.WTPProjectsUtil;
@@ -129,7 +130,7 @@ public class JSFProjectConfigurator extends AbstractProjectConfigurator {
 										  IResource.DEPTH_INFINITE, 
 										  new SubProgressMonitor(monitor, 1));
 	
-			WarPluginConfiguration warConfig = new WarPluginConfiguration(mavenProject, project);
+			WarPluginConfiguration warConfig = PluginConfigurationCache.getWarPluginConfiguration(mavenProject, project);
 			IFolder warSourceDir  = project.getFolder(warConfig.getWarSourceDirectory());
 
 			//We don't want to generate any files automatically
@@ -11,6 +11,7 @@ package org.eclipse.m2e.wtp.overlay.internal.ui.preferences;
 
 import org.eclipse.jface.preference.BooleanFieldEditor;
 import org.eclipse.jface.preference.FieldEditorPreferencePage;
+import org.eclipse.jface.preference.IntegerFieldEditor;
 import org.eclipse.m2e.wtp.overlay.OverlayConstants;
 import org.eclipse.m2e.wtp.overlay.internal.ui.Messages;
 import org.eclipse.m2e.wtp.overlay.internal.ui.OverlayUIPluginActivator;
@@ -29,6 +30,19 @@ public class OverlayPublishingPreferencePage  extends FieldEditorPreferencePage
     addField(new BooleanFieldEditor(OverlayConstants.P_REPUBLISH_ON_PROJECT_CHANGE, 
                                     Messages.OverlayPublishingPreferencePage_Automatically_Republish_Servers_On_Overlay_Modifications,
                                     getFieldEditorParent()));
+    IntegerFieldEditor republishDelay = new IntegerFieldEditor(OverlayConstants.P_REPUBLISH_DELAY, 
+                                    Messages.OverlayPublishingPreferencePage_Republish_Delay,
+                                    getFieldEditorParent());
+    republishDelay.setValidRange(0, 60000);
+    addField(republishDelay);
+    addField(new BooleanFieldEditor(OverlayConstants.P_SHARE_UNPACKED_ARCHIVES, 
+                                    Messages.OverlayPublishingPreferencePage_Share_Unpacked_Archives,
+                                    getFieldEditorParent()));
+    IntegerFieldEditor maxConcurrentUnpacks = new IntegerFieldEditor(OverlayConstants.P_MAX_CONCURRENT_UNPACKS, 
+                                    Messages.OverlayPublishingPreferencePage_Max_Concurrent_Unpacks,
+                                    getFieldEditorParent());
+    maxConcurrentUnpacks.setValidRange(1, 16);
+    addField(maxConcurrentUnpacks);
   }
 
   public void init(IWorkbench workbench) {
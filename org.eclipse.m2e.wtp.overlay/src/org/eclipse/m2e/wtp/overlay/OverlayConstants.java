@@ -26,4 +26,19 @@ public class OverlayConstants {
    */
   public static final String P_REPUBLISH_ON_PROJECT_CHANGE = "republishOnProjectChange"; //$NON-NLS-1$
 
+  /**
+   * Quiet window, in milliseconds, to wait for overlay changes to settle before republishing.
+   */
+  public static final String P_REPUBLISH_DELAY = "republishDelay"; //$NON-NLS-1$
+
+  /**
+   * Unpack each archive overlay once per workspace, and link its files to the projects using it.
+   */
+  public static final String P_SHARE_UNPACKED_ARCHIVES = "shareUnpackedArchives"; //$NON-NLS-1$
+
+  /**
+   * Maximum number of archive overlays unpacked at the same time.
+   */
+  public static final String P_MAX_CONCURRENT_UNPACKS = "maxConcurrentUnpacks"; //$NON-NLS-1$
+
 }
@@ -15,6 +15,7 @@ public class Messages extends NLS {
 	public static String OverlayReferenceResolver_Module_Name_Cant_Be_Inferred;
 	public static String OverlayReferenceResolver_Not_Workspace_Project;
 	public static String OverlayReferenceResolver_Unresolveable;
+	public static String RepublishScheduler_Job;
 	public static String ResourceListVirtualFolder_Error_Finding_Member;
 	public static String UnpackArchiveJob_Deleteing_was_cancelled;
 	public static String UnpackArchiveJob_Error_Unpacking;
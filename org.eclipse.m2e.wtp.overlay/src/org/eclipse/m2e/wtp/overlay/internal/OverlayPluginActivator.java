@@ -9,29 +9,51 @@
  *******************************************************************************/
 package org.eclipse.m2e.wtp.overlay.internal;
 
-import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Plugin;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.m2e.wtp.overlay.OverlayConstants;
+import org.eclipse.m2e.wtp.overlay.internal.modulecore.ResourceChangeTracker;
+import org.eclipse.m2e.wtp.overlay.internal.modulecore.ScanResultCache;
+import org.eclipse.m2e.wtp.overlay.internal.modulecore.UnpackScheduler;
 import org.eclipse.m2e.wtp.overlay.internal.servers.OverlayResourceChangeListener;
+import org.eclipse.m2e.wtp.overlay.internal.utilities.SharedUnpackStore;
 import org.osgi.framework.BundleContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class OverlayPluginActivator extends Plugin {
 	
 	public static final String PLUGIN_ID = OverlayConstants.PLUGIN_ID;
 
-	IResourceChangeListener overlayresourceChangeListener;
+	private static final Logger LOG = LoggerFactory.getLogger(OverlayPluginActivator.class);
+
+	OverlayResourceChangeListener overlayresourceChangeListener;
 	
 	private static OverlayPluginActivator instance;
+
+	private ScanResultCache scanResultCache;
+
+	private ResourceChangeTracker resourceChangeTracker;
+
+	private UnpackScheduler unpackScheduler;
 	
 	@Override
 	public void start(BundleContext context) throws Exception {
 		super.start(context);
 		instance = this;
-		overlayresourceChangeListener = new OverlayResourceChangeListener();
+		scanResultCache = new ScanResultCache(getStateLocation().toFile());
+		unpackScheduler = new UnpackScheduler();
+		Job.createSystem("Clean up overlay scan results", monitor -> scanResultCache.cleanUp()).schedule(); //$NON-NLS-1$
+		Job.createSystem("Clean up shared overlays", monitor -> SharedUnpackStore.cleanUp()).schedule(); //$NON-NLS-1$
 		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		//Registered first, so overlay components are invalidated before republishing
+		resourceChangeTracker = new ResourceChangeTracker();
+		workspace.addResourceChangeListener(resourceChangeTracker, IResourceChangeEvent.POST_CHANGE);
+		overlayresourceChangeListener = new OverlayResourceChangeListener();
 	    workspace.addResourceChangeListener(overlayresourceChangeListener);
 	}
 	
@@ -40,6 +62,20 @@ public class OverlayPluginActivator extends Plugin {
 		if (overlayresourceChangeListener != null) {
 			IWorkspace workspace = ResourcesPlugin.getWorkspace();
 		    workspace.removeResourceChangeListener(overlayresourceChangeListener);
+		    overlayresourceChangeListener.dispose();
+		}
+		if (resourceChangeTracker != null) {
+			ResourcesPlugin.getWorkspace().removeResourceChangeListener(resourceChangeTracker);
+			resourceChangeTracker = null;
+		}
+		if (unpackScheduler != null) {
+			unpackScheduler.dispose();
+			LOG.debug(unpackScheduler.toString());
+			unpackScheduler = null;
+		}
+		if (scanResultCache != null) {
+			LOG.debug(scanResultCache.toString());
+			scanResultCache = null;
 		}
 		instance = null;
 		super.stop(context);
@@ -48,5 +84,29 @@ public class OverlayPluginActivator extends Plugin {
 	public static IPath getWorkspacePluginPath() {
 		return instance == null? null : instance.getStateLocation();
 	}
+
+	/**
+	 * @return the store of overlay scan results, or null if the plugin is not started.
+	 */
+	public static ScanResultCache getScanResultCache() {
+		OverlayPluginActivator activator = instance;
+		return activator == null ? null : activator.scanResultCache;
+	}
+
+	/**
+	 * @return the tracker of workspace changes, or null if the plugin is not started.
+	 */
+	public static ResourceChangeTracker getResourceChangeTracker() {
+		OverlayPluginActivator activator = instance;
+		return activator == null ? null : activator.resourceChangeTracker;
+	}
+
+	/**
+	 * @return the scheduler of archive unpacks, or null if the plugin is not started.
+	 */
+	public static UnpackScheduler getUnpackScheduler() {
+		OverlayPluginActivator activator = instance;
+		return activator == null ? null : activator.unpackScheduler;
+	}
 	
 }
@@ -10,11 +10,11 @@
 package org.eclipse.m2e.wtp.overlay.internal.modulecore;
 
 import java.io.File;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Queue;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.resources.IContainer;
@@ -63,10 +63,15 @@ public class CompositeVirtualFolder implements IFilteredVirtualFolder {
 	private FlatVirtualComponent flatVirtualComponent;
 	private IPath runtimePath;
 	private IProject project;
-	private Set<IVirtualReference> references = new LinkedHashSet<>();
+	private Set<IVirtualReference> references;
 	private IVirtualResource[] members;
+	private Map<String, IVirtualResource> membersByName;
 	private IResourceFilter filter;
 	
+	/**
+	 * Creates a folder mapping the flattened component. Its members are only converted when first accessed,
+	 * folder by folder.
+	 */
 	public CompositeVirtualFolder(FlatVirtualComponent aFlatVirtualComponent, IPath aRuntimePath, IResourceFilter filter) {
 		this.flatVirtualComponent = aFlatVirtualComponent;
 		if (flatVirtualComponent != null && flatVirtualComponent.getComponent() != null) {
@@ -74,11 +79,6 @@ public class CompositeVirtualFolder implements IFilteredVirtualFolder {
 		}
 		this.runtimePath = aRuntimePath;
 		this.filter = filter;
-		try {
-			treeWalk();
-		} catch (CoreException e) {
-			LOG.error(Messages.CompositeVirtualFolder_Error_Scanning, e);
-		}
 	}
 
 	@Override
@@ -92,106 +92,113 @@ public class CompositeVirtualFolder implements IFilteredVirtualFolder {
 	}
 
 	@Override
-	public IVirtualResource[] members() throws CoreException {
+	public synchronized IVirtualResource[] members() throws CoreException {
 		if (members == null) {
-			members = new IVirtualResource[0]; 
+			try {
+				setMembers(convert(flatVirtualComponent.fetchResources()));
+			} catch (CoreException e) {
+				LOG.error(Messages.CompositeVirtualFolder_Error_Scanning, e);
+				setMembers(new IVirtualResource[0]);
+			}
 		}
 		return members;
 	}
+
+	private void setMembers(IVirtualResource[] rootMembers) {
+		members = rootMembers;
+		membersByName = indexByName(rootMembers);
+	}
 	
-	public void treeWalk() throws CoreException {	 
+	/**
+	 * Converts the root members and computes the references right away. Sub folder members are still
+	 * converted on first access.
+	 */
+	public synchronized void treeWalk() throws CoreException {	 
 		IFlatResource[] flatResources = flatVirtualComponent.fetchResources();
-		
-		List<IVirtualResource> membersList = new ArrayList<>(flatResources.length);
-		for (IFlatResource flatResource : flatResources) {
-			IVirtualResource resource = convert(flatResource);
-			if (resource != null) {
-				membersList.add(resource);	
-			}
-		}
+		setMembers(convert(flatResources));
+		references = collectReferences(flatResources);
+	}
+
+	/**
+	 * Collects the references to external files and to child modules. Doesn't convert anything.
+	 */
+	private Set<IVirtualReference> collectReferences(IFlatResource[] flatResources) {
+		Set<IVirtualReference> collected = new LinkedHashSet<>();
+		collectExternalFileReferences(flatResources, collected);
 		for (IChildModuleReference childModule : flatVirtualComponent.getChildModules()) {
 			IVirtualReference reference = childModule.getReference();
 			if (reference != null) {
 				String filePath = getFilePath(reference);
 				if (filter == null || filter.accepts(filePath, true)) {
-					references.add(reference);
+					collected.add(reference);
 				}
 			}
 		}
-		
-		members = new IVirtualResource[membersList.size()];
-		membersList.toArray(members);
+		return collected;
 	}
 
-	private IVirtualResource convert(IFlatResource flatResource) {
-		IVirtualResource virtualResource = null;
-		if (flatResource instanceof IFlatFolder) {
-			virtualResource = convertFolder((IFlatFolder) flatResource);
-		} else if (flatResource instanceof IFlatFile){
-			virtualResource = convertFile((IFlatFile) flatResource);
+	private void collectExternalFileReferences(IFlatResource[] flatResources, Set<IVirtualReference> collected) {
+		for (IFlatResource flatResource : flatResources) {
+			if (flatResource instanceof IFlatFolder flatFolder) {
+				collectExternalFileReferences(flatFolder.members(), collected);
+			} else if (flatResource instanceof IFlatFile flatFile && flatFile.getAdapter(IFile.class) == null) {
+				//Not a workspace file, we assume it's an external reference
+				File underlyingFile = (File)flatFile.getAdapter(File.class);
+				if (underlyingFile != null && underlyingFile.exists()) {
+					String filePath = flatFile.getModuleRelativePath().toPortableString() + Path.SEPARATOR + underlyingFile.getName();
+					if (filter == null || filter.accepts(filePath, true)) {
+						collected.add(createReference(underlyingFile, flatFile.getModuleRelativePath()));
+					}
+				}
+			}
 		}
-		
-		return virtualResource;
 	}
 
-	private IVirtualFolder convertFolder(IFlatFolder flatFolder) {
-		IFlatResource[] flatMembers = flatFolder.members();
-		List<IVirtualResource> membersList = new ArrayList<>(flatMembers.length);
-		for (IFlatResource flatResource : flatMembers) {
+	/**
+	 * Maps members by name. The first member of a given name wins, like when scanning the members.
+	 */
+	private static Map<String, IVirtualResource> indexByName(IVirtualResource[] resources) {
+		Map<String, IVirtualResource> index = new HashMap<>(resources.length * 4 / 3 + 1);
+		for (IVirtualResource resource : resources) {
+			index.putIfAbsent(resource.getName(), resource);
+		}
+		return index;
+	}
+
+	private IVirtualResource[] convert(IFlatResource[] flatResources) {
+		List<IVirtualResource> membersList = new ArrayList<>(flatResources.length);
+		for (IFlatResource flatResource : flatResources) {
 			IVirtualResource resource = convert(flatResource);
 			if (resource != null) {
 				membersList.add(resource);	
 			}
 		}
-		final IVirtualResource[] folderMembers = new IVirtualResource[membersList.size()];
-		membersList.toArray(folderMembers);
-		VirtualFolder vf = new VirtualFolder(project, flatFolder.getModuleRelativePath().append(flatFolder.getName())) {
-			@Override
-			public IVirtualResource[] members() throws CoreException {
-				return folderMembers; 
-			}
-		}; 
-		return vf;
+		return membersList.toArray(new IVirtualResource[membersList.size()]);
+	}
+
+	private IVirtualResource convert(IFlatResource flatResource) {
+		IVirtualResource virtualResource = null;
+		if (flatResource instanceof IFlatFolder) {
+			IFlatFolder flatFolder = (IFlatFolder) flatResource;
+			virtualResource = new LazyVirtualFolder(flatFolder.getModuleRelativePath().append(flatFolder.getName()), flatFolder);
+		} else if (flatResource instanceof IFlatFile){
+			virtualResource = convertFile((IFlatFile) flatResource);
+		}
 		
+		return virtualResource;
 	}
 
+	/**
+	 * @return the virtual file of a workspace file, null for external files, which are mapped as references.
+	 */
 	private IVirtualFile convertFile(IFlatFile flatFile) {
-		final IFile f = (IFile)flatFile.getAdapter(IFile.class);
-		String filePath  = null;
-		if (f == null) {
-			//Not a workspace file, we assume it's an external reference
-			File underlyingFile = (File)flatFile.getAdapter(File.class);
-			if (underlyingFile != null && underlyingFile.exists()) {
-				filePath = flatFile.getModuleRelativePath().toPortableString() + Path.SEPARATOR + underlyingFile.getName();
-				if (filter == null || filter.accepts(filePath, true)) {
-					IVirtualReference reference = createReference(underlyingFile, flatFile.getModuleRelativePath());
-					references.add(reference);
-				}
-			}
-		} else {
-			final String fileName = f.getName(); 		
+		IFile f = (IFile)flatFile.getAdapter(IFile.class);
+		if (f != null) {
 			IPath ffRuntimePath = flatFile.getModuleRelativePath();
-			filePath = ffRuntimePath.toPortableString() + Path.SEPARATOR + fileName;
+			String filePath = ffRuntimePath.toPortableString() + Path.SEPARATOR + f.getName();
 			if (filter == null || filter.accepts(filePath, true)) {
-				return new VirtualFile(project, ffRuntimePath, f) {
-					@Override
-					public String getName() {
-						return fileName;
-					}
-					
-					@Override
-					public IPath getWorkspaceRelativePath() {
-						return f.getFullPath();
-					}
-					
-					@Override
-					public IFile getUnderlyingFile() {
-						IFile f = super.getUnderlyingFile();
-						return f;
-					}
-				};
+				return new FlatVirtualFile(project, ffRuntimePath, f);
 			}
-			
 		}
 		return null;
 	}
@@ -234,35 +241,38 @@ public class CompositeVirtualFolder implements IFilteredVirtualFolder {
     	if (path == null) {
     		return null;
     	}
-    	Queue<String> segments = new ArrayDeque<String>(path.segmentCount());
-    	for (String s : path.segments()) {
-    		segments.add(s);
+    	int segmentCount = path.segmentCount();
+    	if (segmentCount == 0) {
+    		return null;
     	}
+    	IVirtualResource member;
     	try {
-    		return findMember(segments, members);
+    		member = findChild(this, path.segment(0));
+    		for (int i = 1; i < segmentCount && member != null; i++) {
+    			member = findChild(member, path.segment(i));
+    		}
     	} catch (CoreException ce) {
     		LOG.error(Messages.CompositeVirtualFolder_Error_Finding_Member, ce);
+    		return null;
     	}
-    	return null;
+    	return member;
     }
     
-    private static IVirtualResource findMember(Queue<String> segments, IVirtualResource[] members) throws CoreException {
-    	if (segments.isEmpty()) {
-    		return null;
+    private static IVirtualResource findChild(IVirtualResource parent, String name) throws CoreException {
+    	if (parent instanceof CompositeVirtualFolder composite) {
+    		return composite.findChild(name);
+    	}
+    	if (parent instanceof LazyVirtualFolder lazy) {
+    		return lazy.findChild(name);
     	}
-    	String segment = segments.poll();
-    	boolean finalResource = segments.isEmpty();
-    	for (IVirtualResource m : members) {
-    		if (m.getName().equals(segment)) {
-    			if (finalResource) {
+    	if (parent instanceof IVirtualFolder folder) {
+    		for (IVirtualResource m : folder.members()) {
+    			if (m.getName().equals(name)) {
     				return m;
     			}
-    			if (m instanceof IVirtualFolder) {
-    				return findMember(segments, ((IVirtualFolder)m).members());
-    			}
     		}
     	}
-        return null;
+    	return null;
     }
     
     
@@ -429,9 +439,22 @@ public class CompositeVirtualFolder implements IFilteredVirtualFolder {
 		return null;
 	}
 
-	public IVirtualReference[] getReferences() {
+	public synchronized IVirtualReference[] getReferences() {
+		if (references == null) {
+			try {
+				references = collectReferences(flatVirtualComponent.fetchResources());
+			} catch (CoreException e) {
+				LOG.error(Messages.CompositeVirtualFolder_Error_Scanning, e);
+				references = collectReferences(new IFlatResource[0]);
+			}
+		}
 		return references.toArray(new IVirtualReference[references.size()]);
 	}
+
+	private synchronized IVirtualResource findChild(String name) throws CoreException {
+		members();
+		return membersByName.get(name);
+	}
 	
 	@Override
 	public IResourceFilter getFilter() {
@@ -439,8 +462,12 @@ public class CompositeVirtualFolder implements IFilteredVirtualFolder {
 	}
 
 	@Override
-	public void setFilter(IResourceFilter filter) {
+	public synchronized void setFilter(IResourceFilter filter) {
 		this.filter = filter;
+		//Converted with the previous filter
+		this.members = null;
+		this.membersByName = null;
+		this.references = null;
 	}
 	
 	
@@ -458,4 +485,58 @@ public class CompositeVirtualFolder implements IFilteredVirtualFolder {
 		path.append(archiveName);
 		return path.toString();
 	}
+
+	/**
+	 * Virtual folder of a flattened folder, whose members are converted and indexed by name on first access.
+	 */
+	private class LazyVirtualFolder extends VirtualFolder {
+
+		private final IFlatFolder flatFolder;
+
+		private IVirtualResource[] folderMembers;
+
+		private Map<String, IVirtualResource> membersByName;
+
+		LazyVirtualFolder(IPath runtimePath, IFlatFolder flatFolder) {
+			super(project, runtimePath);
+			this.flatFolder = flatFolder;
+		}
+
+		@Override
+		public synchronized IVirtualResource[] members() throws CoreException {
+			if (folderMembers == null) {
+				folderMembers = convert(flatFolder.members());
+				membersByName = indexByName(folderMembers);
+			}
+			return folderMembers;
+		}
+
+		synchronized IVirtualResource findChild(String name) throws CoreException {
+			members();
+			return membersByName.get(name);
+		}
+	}
+
+	/**
+	 * Virtual file of a flattened workspace file.
+	 */
+	private static class FlatVirtualFile extends VirtualFile {
+
+		private final IFile file;
+
+		FlatVirtualFile(IProject project, IPath runtimePath, IFile file) {
+			super(project, runtimePath, file);
+			this.file = file;
+		}
+
+		@Override
+		public String getName() {
+			return file.getName();
+		}
+
+		@Override
+		public IPath getWorkspaceRelativePath() {
+			return file.getFullPath();
+		}
+	}
 }
@@ -9,24 +9,15 @@
  *******************************************************************************/
 package org.eclipse.m2e.wtp.overlay.internal.modulecore;
 
-import java.io.Externalizable;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
-import java.io.ObjectInput;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutput;
-import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
 
 import org.apache.tools.ant.DirectoryScanner;
 import org.eclipse.core.runtime.IPath;
-import org.eclipse.core.runtime.Path;
 import org.eclipse.m2e.wtp.overlay.internal.OverlayPluginActivator;
 import org.eclipse.m2e.wtp.overlay.internal.utilities.PathUtil;
 import org.slf4j.Logger;
@@ -129,13 +120,14 @@ public class FileSystemResourceFilter implements IResourceFilter {
 		@Override
 		public void scan() throws IllegalStateException {
 			String scanId = Integer.toString(hashCode());
-			scanResult = ScanResult.read(scanId);
+			ScanResultCache cache = OverlayPluginActivator.getScanResultCache();
+			scanResult = cache == null ? null : cache.get(scanId);
 			if (scanResult == null) {
 				super.scan();
-				scanResult = new ScanResult(scanId, baseDirAsString,
+				byte[] bytes = ScanResult.encode(scanId, baseDirAsString,
 						getIncludedFiles(), getExcludedFiles(),
 						getIncludedDirectories(), getExcludedDirectories());
-				ScanResult.write(scanResult);
+				scanResult = cache == null ? ScanResult.decode(ByteBuffer.wrap(bytes)) : cache.put(scanId, bytes);
 			}
 
 		}
@@ -157,233 +149,157 @@ public class FileSystemResourceFilter implements IResourceFilter {
 
 	}
 
-	static class ScanResult implements Externalizable {
+	/**
+	 * Result of a scan, encoded as a {@link PathTrie} of the included and excluded files and folders. Scan
+	 * results are stored by the {@link ScanResultCache}, and memory-mapped when read.
+	 * <pre>
+	 * int MAGIC, int FORMAT_VERSION, varint-prefixed scanId and base directory, trie
+	 * </pre>
+	 */
+	static class ScanResult {
 
-		private static final String COLLECTION_SEPARATOR = ";"; //$NON-NLS-1$
+		private static final int MAGIC = 0x4D325352; // "M2SR"
 
-		private static final long serialVersionUID = 1L;
+		private static final int FORMAT_VERSION = 2;
 
-		private String baseDirAsString;
-
-		private String scanId;
+		private final String scanId;
 
-		private Set<String> includedFiles;
-		private Set<String> excludedFiles;
-		private Set<String> includedFolders;
-		private Set<String> excludedFolders;
-
-		public ScanResult() {
-			includedFiles = new HashSet<>(0);
-			excludedFiles = new HashSet<>(0);
-			includedFolders = new HashSet<>(0);
-			excludedFolders = new HashSet<>(0);
-		}
+		private final String baseDirAsString;
 
-		public ScanResult(String scanId, String baseDirAsString,
-				String[] incFiles, String[] excFiles, String[] incDirs,
-				String[] excDirs) {
-			this.scanId = scanId;
-			this.baseDirAsString = baseDirAsString;
-			includedFiles = new HashSet<>(Arrays.asList(incFiles));
-			excludedFiles = new HashSet<>(Arrays.asList(excFiles));
-			includedFolders = new HashSet<>(Arrays.asList(incDirs));
-			excludedFolders = new HashSet<>(Arrays.asList(excDirs));
-			completeIncludedFolders();
-		}
-
-		public String getBaseDirAsString() {
-			return baseDirAsString;
-		}
-
-		public void setBaseDirAsString(String baseDirAsString) {
-			this.baseDirAsString = baseDirAsString;
-		}
+		private final PathTrie paths;
 
-		public Set<String> getIncludedFiles() {
-			return includedFiles;
-		}
-
-		public void setIncludedFiles(Set<String> includedFiles) {
-			this.includedFiles = includedFiles;
-		}
-
-		public Set<String> getExcludedFiles() {
-			return excludedFiles;
+		private ScanResult(ByteBuffer buffer) throws IOException {
+			checkHeader(buffer);
+			long v = PathTrie.readVarint(buffer, 8);
+			scanId = readString(buffer, v);
+			v = PathTrie.readVarint(buffer, skipString(buffer, v));
+			baseDirAsString = readString(buffer, v);
+			paths = new PathTrie(buffer, skipString(buffer, v));
+			if (paths.getEnd() != buffer.limit()) {
+				throw new IOException("Corrupted scan result"); //$NON-NLS-1$
+			}
 		}
 
-		public void setExcludedFiles(Set<String> excludedFiles) {
-			this.excludedFiles = excludedFiles;
+		/**
+		 * Reads an encoded scan result.
+		 */
+		static ScanResult decode(ByteBuffer buffer) {
+			try {
+				return new ScanResult(buffer);
+			} catch (IOException | IndexOutOfBoundsException ex) {
+				LOG.error("Unable to read scan results", ex); //$NON-NLS-1$
+				return null;
+			}
 		}
 
-		public Set<String> getIncludedFolders() {
-			return includedFolders;
+		/**
+		 * Reads the base directory of an encoded scan result, from a buffer holding at least its header.
+		 */
+		static String decodeBaseDir(ByteBuffer buffer) throws IOException {
+			checkHeader(buffer);
+			long v = PathTrie.readVarint(buffer, 8);
+			v = PathTrie.readVarint(buffer, skipString(buffer, v));
+			return readString(buffer, v);
 		}
 
-		public void setIncludedFolders(Set<String> includedFolders) {
-			this.includedFolders = includedFolders;
+		private static void checkHeader(ByteBuffer buffer) throws IOException {
+			if (buffer.limit() < 8 || buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+				throw new IOException("Unsupported scan result format"); //$NON-NLS-1$
+			}
 		}
 
-		public Set<String> getExcludedFolders() {
-			return excludedFolders;
+		/**
+		 * Encodes the result of a scan.
+		 */
+		static byte[] encode(String scanId, String baseDirAsString,
+				String[] incFiles, String[] excFiles, String[] incDirs,
+				String[] excDirs) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			DataOutputStream header = new DataOutputStream(out);
+			try {
+				header.writeInt(MAGIC);
+				header.writeInt(FORMAT_VERSION);
+				header.flush();
+			} catch (IOException e) {
+				//can't happen with a ByteArrayOutputStream
+			}
+			writeString(out, scanId);
+			writeString(out, baseDirAsString);
+			new PathTrie.Builder()
+					.add(incFiles, PathTrie.INCLUDED_FILE)
+					.add(excFiles, PathTrie.EXCLUDED_FILE)
+					.add(incDirs, PathTrie.INCLUDED_FOLDER)
+					.add(excDirs, PathTrie.EXCLUDED_FOLDER)
+					.write(out);
+			return out.toByteArray();
 		}
 
-		public void setExcludedFolders(Set<String> excludedFolders) {
-			this.excludedFolders = excludedFolders;
+		public String getBaseDirAsString() {
+			return baseDirAsString;
 		}
 
-		private String getId() {
+		String getId() {
 			return scanId;
 		}
 
-		static File getScanResultFile(String scanResultId) {
-			IPath location = OverlayPluginActivator.getWorkspacePluginPath();
-			File root = location.toFile();
-			File scanFile = new File(root, scanResultId + ".scan"); //$NON-NLS-1$
-			return scanFile;
-		}
-
 		boolean accepts(String name, boolean isFile) {
-
-			name = PathUtil.useSystemSeparator(name);
-			if (name.startsWith(baseDirAsString)) {
-				name = name.substring(baseDirAsString.length() + 1);
+			int from = 0;
+			if (startsWithPath(name, baseDirAsString)) {
+				from = baseDirAsString.length() + 1;
 			}
 
-			boolean res;
+			int flags = paths.getFlags(name, from);
 			if (isFile) {
-				res = includedFiles.contains(name)
-						&& !excludedFiles.contains(name);
-			} else {
-				res = includedFolders.contains(name)
-						&& !excludedFolders.contains(name);
+				return (flags & (PathTrie.INCLUDED_FILE | PathTrie.EXCLUDED_FILE)) == PathTrie.INCLUDED_FILE;
 			}
-			return res;
+			return (flags & (PathTrie.INCLUDED_FOLDER | PathTrie.EXCLUDED_FOLDER)) == PathTrie.INCLUDED_FOLDER;
 		}
 
-		private void completeIncludedFolders() {
-			Set<String> missingParentFolders = new HashSet<>();
-			for (String folder : includedFolders) {
-				IPath filePath = new Path(folder);
-				IPath parentPath = filePath.removeLastSegments(1);
-				while (parentPath.segmentCount() > 0) {
-					String pathAsString = parentPath.toOSString();
-					if (!includedFolders.contains(pathAsString)) {
-						missingParentFolders.add(pathAsString);
-					}
-					parentPath = parentPath.removeLastSegments(1);
-				}
+		/**
+		 * Same as path.startsWith(prefix) once both use the system separator.
+		 */
+		private static boolean startsWithPath(String path, String prefix) {
+			if (path.length() < prefix.length()) {
+				return false;
 			}
-			includedFolders.addAll(missingParentFolders);
-
-			for (String file : includedFiles) {
-				// For /some/foo/bar/file.ext, we need to add
-				// /some/foo/bar/
-				// /some/foo/
-				// /some/
-				// as included folders
-
-				IPath filePath = new Path(file);
-				IPath parentPath = filePath.removeLastSegments(1);
-				while (parentPath.segmentCount() > 0) {
-					if (includedFolders.add(parentPath.toOSString())) {
-						parentPath = parentPath.removeLastSegments(1);
-					} else {
-						// Parent hierarchy already added
-						break;
-					}
+			for (int i = 0; i < prefix.length(); i++) {
+				char c = path.charAt(i);
+				char p = prefix.charAt(i);
+				if (c != p && !(isSeparator(c) && isSeparator(p))) {
+					return false;
 				}
 			}
+			return true;
 		}
 
-		@Override
-		public void writeExternal(ObjectOutput out) throws IOException {
-			out.writeUTF(scanId);
-			out.writeUTF(baseDirAsString);
-			out.writeObject(toString(includedFiles));
-			out.writeObject(toString(excludedFiles));
-			out.writeObject(toString(includedFolders));
-			out.writeObject(toString(excludedFolders));
-		}
-
-		@Override
-		public void readExternal(ObjectInput in) throws IOException,
-				ClassNotFoundException {
-			this.scanId = in.readUTF();
-			this.baseDirAsString = in.readUTF();
-			this.includedFiles = toSet((String)in.readObject());
-			this.excludedFiles = toSet((String)in.readObject());
-			this.includedFolders = toSet((String)in.readObject());
-			this.excludedFolders = toSet((String)in.readObject());
-		}
-
-		private Set<String> toSet(String arrayAsString) {
-			if (arrayAsString == null) {
-				return Collections.emptySet();
-			}
-			return new HashSet<>(Arrays.asList(arrayAsString.split(COLLECTION_SEPARATOR)));
+		private static boolean isSeparator(char c) {
+			return c == '/' || c == '\\';
 		}
 
-		private String toString(Set<String> stringSet) {
-			if (stringSet == null || stringSet.isEmpty()) {
-				return ""; //$NON-NLS-1$
+		private static void writeString(ByteArrayOutputStream out, String s) {
+			PathTrie.writeVarint(out, s.length());
+			for (int i = 0; i < s.length(); i++) {
+				PathTrie.writeVarint(out, s.charAt(i));
 			}
-			StringBuilder sb = new StringBuilder();
-			for (String s : stringSet) {
-				sb.append(s).append(COLLECTION_SEPARATOR);	
-			}
-		    int lastSeparatorIdx = sb.lastIndexOf(COLLECTION_SEPARATOR);
-		    if (lastSeparatorIdx > -1) {
-		    	sb.deleteCharAt(lastSeparatorIdx);
-		    }
-			return sb.toString();
 		}
 
-		public static void write(ScanResult scanResult) {
-			File scanResultFile = getScanResultFile(scanResult.getId());
-			ObjectOutputStream oos = null;
-			try {
-				FileOutputStream fos = new FileOutputStream(scanResultFile);
-				oos = new ObjectOutputStream(fos);
-				scanResult.writeExternal(oos);
-				oos.flush();
-			} catch (Exception ex) {
-				LOG.error("Unable to serialize scan results", ex); //$NON-NLS-1$
-			} finally {
-				try {
-					if (oos != null) {
-						oos.close();
-					}
-				} catch (Exception ignore) {
-				}
+		private static String readString(ByteBuffer buffer, long length) {
+			int position = PathTrie.position(length);
+			char[] chars = new char[PathTrie.value(length)];
+			for (int i = 0; i < chars.length; i++) {
+				long c = PathTrie.readVarint(buffer, position);
+				chars[i] = (char) PathTrie.value(c);
+				position = PathTrie.position(c);
 			}
+			return new String(chars);
 		}
 
-		public static ScanResult read(String scanResultId) {
-			File scanResultFile = getScanResultFile(scanResultId);
-			if (!scanResultFile.isFile()) {
-				return null;
-			}
-			ScanResult scanResult = null;
-			ObjectInputStream ois = null;
-			try {
-				FileInputStream fis = new FileInputStream(scanResultFile);
-				ois = new ObjectInputStream(fis);
-				scanResult = new ScanResult();
-				scanResult.readExternal(ois);
-
-			} catch (Exception ex) {
-				LOG.error("Unable to read scan results", ex); //$NON-NLS-1$
-				scanResultFile.delete();
-				scanResult = null;
-			} finally {
-				try {
-					if (ois != null) {
-						ois.close();
-					}
-				} catch (Exception ignore) {
-				}
+		private static int skipString(ByteBuffer buffer, long length) {
+			int position = PathTrie.position(length);
+			for (int i = 0; i < PathTrie.value(length); i++) {
+				position = PathTrie.position(PathTrie.readVarint(buffer, position));
 			}
-			return scanResult;
+			return position;
 		}
 
 	}
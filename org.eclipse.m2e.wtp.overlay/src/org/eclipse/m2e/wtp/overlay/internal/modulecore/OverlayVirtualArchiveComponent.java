@@ -19,6 +19,10 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.m2e.wtp.overlay.internal.Messages;
+import org.eclipse.m2e.wtp.overlay.internal.OverlayPluginActivator;
+import org.eclipse.m2e.wtp.overlay.internal.modulecore.ResourceChangeTracker.Snapshot;
+import org.eclipse.m2e.wtp.overlay.internal.utilities.ArchiveEntryFilter;
+import org.eclipse.m2e.wtp.overlay.internal.utilities.UnpackManifest;
 import org.eclipse.m2e.wtp.overlay.modulecore.IOverlayVirtualComponent;
 import org.eclipse.m2e.wtp.overlay.modulecore.UnpackArchiveJob;
 import org.eclipse.osgi.util.NLS;
@@ -26,6 +30,7 @@ import org.eclipse.wst.common.componentcore.ComponentCore;
 import org.eclipse.wst.common.componentcore.internal.resources.VirtualArchiveComponent;
 import org.eclipse.wst.common.componentcore.resources.IVirtualComponent;
 import org.eclipse.wst.common.componentcore.resources.IVirtualFolder;
+import org.eclipse.wst.server.core.ServerUtil;
 
 /**
  * Archive-based Overlay Virtual Component. 
@@ -45,11 +50,12 @@ public class OverlayVirtualArchiveComponent extends VirtualArchiveComponent impl
 	
 	private Set<String> exclusions;
 
-	private ResourceListVirtualFolder cachedRoot;
+	/** Kept until the unpack folder or the .component file changes */
+	private volatile CachedRoot cachedRoot;
 
-	private long lastCacheUpdate;
-	
-	private static int MAX_CACHE = 2000;
+	private static final String COMPONENT_FILE = ".settings/org.eclipse.wst.common.component"; //$NON-NLS-1$
+
+	private volatile ArchiveEntryFilter entryFilter;
 	
 	public OverlayVirtualArchiveComponent(IProject aComponentProject,
 			String archiveLocation, IPath unpackDirPath, IPath aRuntimePath) {
@@ -60,11 +66,15 @@ public class OverlayVirtualArchiveComponent extends VirtualArchiveComponent impl
 	@Override
 	public void setInclusions(Set<String> inclusionPatterns) {
 		this.inclusions = inclusionPatterns;
+		this.cachedRoot = null;
+		this.entryFilter = null;
 	}
 
 	@Override
 	public void setExclusions(Set<String> exclusionPatterns) {
 		this.exclusions = exclusionPatterns;
+		this.cachedRoot = null;
+		this.entryFilter = null;
 	}
 	
 	@Override
@@ -74,30 +84,45 @@ public class OverlayVirtualArchiveComponent extends VirtualArchiveComponent impl
 		ResourceListVirtualFolder root =null;
 		if (component != null && archive != null) {
 			IFolder unpackedFolder = getUnpackedArchiveFolder(archive);
+			long archiveLastModified = archive.lastModified();
+			//The unpack manifest is only read when the cached root is missing or stale
+			CachedRoot cached = cachedRoot;
+			if (cached != null && cached.unpackedFolder.equals(unpackedFolder)
+					&& cached.archiveLastModified == archiveLastModified && cached.snapshot.isCurrent()) {
+				return cached.root;
+			}
 			if (isUnpackNeeded(archive, unpackedFolder)) {
-			  Job[] currentJobs = Job.getJobManager().find(unpackedFolder);
-			  if (currentJobs.length == 0) {
-				  Job job = new UnpackArchiveJob(NLS.bind(Messages.OverlayVirtualArchiveComponent_Unpacking_Job,archive.getName()), archive, unpackedFolder);
+			  UnpackArchiveJob job = new UnpackArchiveJob(NLS.bind(Messages.OverlayVirtualArchiveComponent_Unpacking_Job,archive.getName()), archive, unpackedFolder, inclusions, exclusions);
+			  UnpackScheduler scheduler = OverlayPluginActivator.getUnpackScheduler();
+			  if (scheduler != null) {
+				  scheduler.schedule(job, isPublishing());
+			  } else if (Job.getJobManager().find(unpackedFolder).length == 0) {
 				  job.schedule();
 			  }
 			  root = new ResourceListVirtualFolder(getProject(), getRuntimePath(), new IContainer[] {}); 	
 			} else {
-			  	
-			  if (cachedRoot != null && (System.currentTimeMillis() - lastCacheUpdate) < MAX_CACHE){
-					return cachedRoot;
-			  } 
-				
+			  //Taken before scanning, so changes made meanwhile invalidate the root
+			  ResourceChangeTracker tracker = OverlayPluginActivator.getResourceChangeTracker();
+			  Snapshot snapshot = tracker == null ? null : tracker.snapshot(unpackedFolder.getFullPath(),
+					  getProject().getFile(COMPONENT_FILE).getFullPath());
 			  IContainer[] containers = new IContainer[] {unpackedFolder};
 			  root = new ResourceListVirtualFolder(getProject(), getRuntimePath(), containers);
 			  root.setFilter(new FileSystemResourceFilter(inclusions, exclusions, unpackedFolder.getLocation()));
 			  
-			  lastCacheUpdate = System.currentTimeMillis();
-			  cachedRoot = root;
+			  cachedRoot = snapshot == null ? null : new CachedRoot(root, unpackedFolder, archiveLastModified, snapshot);
 			}
 		}
 		return root;
 	}
 
+	/**
+	 * @return whether the root folder is requested by a server job, which publishes it right away.
+	 */
+	private static boolean isPublishing() {
+		Job job = Job.getJobManager().currentJob();
+		return job != null && job.belongsTo(ServerUtil.SERVER_JOB_FAMILY);
+	}
+
 	protected IFolder getUnpackedArchiveFolder(File archive) {
 		IFolder overlaysFolder =  getProject().getFolder(unpackDirPath);
 		return overlaysFolder.getFolder(archive.getName());
@@ -116,9 +141,24 @@ public class OverlayVirtualArchiveComponent extends VirtualArchiveComponent impl
 		if (!unpackFolder.exists()) {
 		  return true;
 		}
-		long lastUnpacked = new File(unpackFolder.getLocation().toOSString()).lastModified();
+		File unpackDir = new File(unpackFolder.getLocation().toOSString());
+		long lastUnpacked = unpackDir.lastModified();
 		long lastModified = archive.lastModified();
-		return lastModified > lastUnpacked;
+		if (lastModified > lastUnpacked) {
+			return true;
+		}
+		//Only the selected files are unpacked, so they depend on the inclusions and exclusions
+		String unpackedFilterId = UnpackManifest.readFilterId(unpackDir);
+		return unpackedFilterId != null && !unpackedFilterId.equals(getEntryFilter().getId());
+	}
+
+	private ArchiveEntryFilter getEntryFilter() {
+		ArchiveEntryFilter filter = entryFilter;
+		if (filter == null) {
+			filter = new ArchiveEntryFilter(inclusions, exclusions);
+			entryFilter = filter;
+		}
+		return filter;
 	}
 
 	public IPath getUnpackFolderPath() {
@@ -178,4 +218,7 @@ public class OverlayVirtualArchiveComponent extends VirtualArchiveComponent impl
 		return true;
 	}
 	
+
+	private record CachedRoot(ResourceListVirtualFolder root, IFolder unpackedFolder, long archiveLastModified, Snapshot snapshot) {
+	}
 }
@@ -11,10 +11,12 @@
 package org.eclipse.m2e.wtp.overlay.internal.modulecore;
 
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.jst.common.internal.modulecore.AddClasspathFoldersParticipant;
 import org.eclipse.jst.common.internal.modulecore.AddClasspathLibReferencesParticipant;
 import org.eclipse.jst.common.internal.modulecore.AddMappedOutputFoldersParticipant;
@@ -23,6 +25,8 @@ import org.eclipse.jst.common.internal.modulecore.SingleRootExportParticipant;
 import org.eclipse.jst.j2ee.internal.common.exportmodel.JEEHeirarchyExportParticipant;
 import org.eclipse.jst.j2ee.internal.common.exportmodel.JavaEESingleRootCallback;
 import org.eclipse.jst.j2ee.project.facet.IJ2EEFacetConstants;
+import org.eclipse.m2e.wtp.overlay.internal.OverlayPluginActivator;
+import org.eclipse.m2e.wtp.overlay.internal.modulecore.ResourceChangeTracker.Snapshot;
 import org.eclipse.m2e.wtp.overlay.modulecore.IOverlayVirtualComponent;
 import org.eclipse.wst.common.componentcore.ComponentCore;
 import org.eclipse.wst.common.componentcore.internal.flat.FlatVirtualComponent;
@@ -54,11 +58,8 @@ public class OverlayVirtualComponent extends VirtualComponent implements
 	
 	protected Set<IVirtualReference> references;
 	
-	private CompositeVirtualFolder cachedRoot;
-	
-	private long lastCacheUpdate;
-	
-	private static int MAX_CACHE = 2000;
+	/** Kept until the overlaid project, or a project it references, changes */
+	private volatile CachedRoot cachedRoot;
 	
 	public OverlayVirtualComponent(IProject project) {
 		super(project, ROOT);
@@ -71,21 +72,42 @@ public class OverlayVirtualComponent extends VirtualComponent implements
 	}
 
 	private CompositeVirtualFolder getRoot() {
-		if (cachedRoot != null && (System.currentTimeMillis() - lastCacheUpdate) < MAX_CACHE){
-			return cachedRoot;
+		CachedRoot cached = cachedRoot;
+		if (cached != null && cached.snapshot.isCurrent()) {
+			return cached.root;
 		}
 		
+		CompositeVirtualFolder root = null;
 		if (project != null) {
 			IVirtualComponent component = ComponentCore.createComponent(project);
 			if (component != null) {
+				//Taken before building, so changes made meanwhile invalidate the root
+				ResourceChangeTracker tracker = OverlayPluginActivator.getResourceChangeTracker();
+				Snapshot snapshot = tracker == null ? null : tracker.snapshot(getWatchedPaths(component));
 				//FlatVirtualComponent will build the project structure from the definition in .component
 				FlatVirtualComponent flatVirtualComponent = new FlatVirtualComponent(component, getOptions());
 				IResourceFilter filter = new DynamicResourceFilter(getInclusions(), getExclusions()); 
-				cachedRoot = new CompositeVirtualFolder(flatVirtualComponent, ROOT, filter);
+				root = new CompositeVirtualFolder(flatVirtualComponent, ROOT, filter);
+				cachedRoot = snapshot == null ? null : new CachedRoot(root, snapshot);
+			}
+		}
+		return root;
+	}
+
+	/**
+	 * @return the projects the flattened component is built from : the overlaid project, which holds
+	 *         the .component file, and the projects it references.
+	 */
+	private static IPath[] getWatchedPaths(IVirtualComponent component) {
+		Set<IPath> paths = new LinkedHashSet<>();
+		paths.add(component.getProject().getFullPath());
+		for (IVirtualReference reference : component.getReferences()) {
+			IVirtualComponent referenced = reference.getReferencedComponent();
+			if (referenced != null && referenced.getProject() != null) {
+				paths.add(referenced.getProject().getFullPath());
 			}
 		}
-		lastCacheUpdate = System.currentTimeMillis();
-		return cachedRoot;
+		return paths.toArray(new IPath[paths.size()]);
 	}
 	
 	private FlatComponentTaskModel getOptions() {
@@ -122,11 +144,13 @@ public class OverlayVirtualComponent extends VirtualComponent implements
 	@Override
 	public void setInclusions(Set<String> inclusionPatterns) {
 		this.inclusionPatterns = inclusionPatterns;
+		this.cachedRoot = null;
 	}
 
 	@Override
 	public void setExclusions(Set<String> exclusionPatterns) {
 		this.exclusionPatterns = exclusionPatterns;
+		this.cachedRoot = null;
 	}
 
 	@Override
@@ -192,4 +216,7 @@ public class OverlayVirtualComponent extends VirtualComponent implements
 			return false;
 		return true;
 	}
+
+	private record CachedRoot(CompositeVirtualFolder root, Snapshot snapshot) {
+	}
 }
@@ -0,0 +1,301 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.m2e.wtp.overlay.internal.modulecore;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Tree of relative paths, one node per path segment, stored in a {@link ByteBuffer} and looked up by
+ * walking segments, without allocating anything.
+ * <p>
+ * Each node holds flags describing the path it ends, and its children sorted by name, which are found by
+ * binary search. Nodes are written children first, so the root is the last one. Lengths, chars and flags
+ * are varint-encoded, so ASCII names take one byte per char ; child offsets are relative to the first node.
+ * </p>
+ * <pre>
+ * int nodesLength, int rootOffset, nodes
+ * node : varint nameLength, varint[nameLength] chars, varint flags, varint childCount, int[childCount] child offsets
+ * </pre>
+ * Lookups only use absolute reads, so a trie can be shared between threads.
+ *
+ * @provisional This class has been added as part of a work in progress.
+ * It is not guaranteed to work or remain the same in future releases.
+ * For more information contact <a href="mailto:m2e-wtp-dev@eclipse.org">m2e-wtp-dev@eclipse.org</a>.
+ */
+public final class PathTrie {
+
+	public static final int INCLUDED_FILE = 1;
+
+	public static final int EXCLUDED_FILE = 1 << 1;
+
+	/** Set on included folders, and on the parent folders of every included file or folder */
+	public static final int INCLUDED_FOLDER = 1 << 2;
+
+	public static final int EXCLUDED_FOLDER = 1 << 3;
+
+	private final ByteBuffer buffer;
+
+	private final int nodesStart;
+
+	private final int root;
+
+	private final int end;
+
+	/**
+	 * Reads the trie header located at offset.
+	 */
+	public PathTrie(ByteBuffer buffer, int offset) {
+		this.buffer = buffer;
+		int nodesLength = buffer.getInt(offset);
+		nodesStart = offset + 8;
+		root = nodesStart + buffer.getInt(offset + 4);
+		end = nodesStart + nodesLength;
+	}
+
+	/**
+	 * @return the offset following this trie in the buffer.
+	 */
+	public int getEnd() {
+		return end;
+	}
+
+	/**
+	 * Finds the flags of the part of the path starting at from. '\' and '/' are both separators.
+	 *
+	 * @return the flags of the path, 0 if it's not in the trie.
+	 */
+	public int getFlags(String path, int from) {
+		int node = root;
+		int start = from;
+		int length = path.length();
+		boolean found = false;
+		while (start < length) {
+			if (isSeparator(path.charAt(start))) {
+				start++;
+				continue;
+			}
+			int segmentEnd = start;
+			while (segmentEnd < length && !isSeparator(path.charAt(segmentEnd))) {
+				segmentEnd++;
+			}
+			node = findChild(node, path, start, segmentEnd);
+			if (node < 0) {
+				return 0;
+			}
+			found = true;
+			start = segmentEnd;
+		}
+		return found ? value(readVarint(buffer, skipName(node))) : 0;
+	}
+
+	/**
+	 * Binary search of the child named path[start, end[.
+	 *
+	 * @return the offset of the child, -1 if there's none.
+	 */
+	private int findChild(int node, String path, int start, int end) {
+		long flags = readVarint(buffer, skipName(node));
+		long childCount = readVarint(buffer, position(flags));
+		int children = position(childCount);
+		int low = 0;
+		int high = value(childCount) - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int child = nodesStart + buffer.getInt(children + 4 * middle);
+			int cmp = compareName(child, path, start, end);
+			if (cmp == 0) {
+				return child;
+			}
+			if (cmp > 0) {
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Compares path[start, end[ with the name of a node.
+	 */
+	private int compareName(int node, String path, int start, int end) {
+		long length = readVarint(buffer, node);
+		int nameLength = value(length);
+		int p = position(length);
+		int k = 0;
+		while (k < nameLength && start + k < end) {
+			long c = readVarint(buffer, p);
+			int cmp = path.charAt(start + k) - value(c);
+			if (cmp != 0) {
+				return cmp;
+			}
+			p = position(c);
+			k++;
+		}
+		return (end - start) - nameLength;
+	}
+
+	private int skipName(int node) {
+		long length = readVarint(buffer, node);
+		int p = position(length);
+		for (int i = value(length); i > 0; i--) {
+			while ((buffer.get(p++) & 0x80) != 0) {
+				//continuation byte
+			}
+		}
+		return p;
+	}
+
+	private static boolean isSeparator(char c) {
+		return c == '/' || c == '\\';
+	}
+
+	/*
+	 * A varint read at some position is returned with the position following it, packed in a long, so
+	 * walking the trie doesn't allocate anything.
+	 */
+
+	static long readVarint(ByteBuffer buffer, int position) {
+		int value = 0;
+		int shift = 0;
+		int p = position;
+		byte b;
+		do {
+			b = buffer.get(p++);
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return ((long) value << 32) | p;
+	}
+
+	static int value(long varint) {
+		return (int) (varint >>> 32);
+	}
+
+	static int position(long varint) {
+		return (int) varint;
+	}
+
+	static void writeVarint(ByteArrayOutputStream out, int value) {
+		int v = value;
+		while ((v & ~0x7F) != 0) {
+			out.write((v & 0x7F) | 0x80);
+			v >>>= 7;
+		}
+		out.write(v);
+	}
+
+	private static void writeInt(ByteArrayOutputStream out, int value) {
+		out.write(value >>> 24);
+		out.write(value >>> 16);
+		out.write(value >>> 8);
+		out.write(value);
+	}
+
+	/**
+	 * Collects paths before encoding them as a trie.
+	 */
+	public static final class Builder {
+
+		private final Node root = new Node(""); //$NON-NLS-1$
+
+		/**
+		 * Adds a path with some flags. Parent folders of included paths get the {@link #INCLUDED_FOLDER} flag.
+		 */
+		public Builder add(String[] paths, int flags) {
+			boolean included = (flags & (INCLUDED_FILE | INCLUDED_FOLDER)) != 0;
+			for (String path : paths) {
+				if (path != null) {
+					add(path, flags, included);
+				}
+			}
+			return this;
+		}
+
+		private void add(String path, int flags, boolean included) {
+			Node node = root;
+			int start = 0;
+			while (start < path.length()) {
+				int segmentEnd = start;
+				while (segmentEnd < path.length() && !isSeparator(path.charAt(segmentEnd))) {
+					segmentEnd++;
+				}
+				if (segmentEnd > start) {
+					if (included && node != root) {
+						node.flags |= INCLUDED_FOLDER;
+					}
+					node = node.getOrCreateChild(path.substring(start, segmentEnd));
+				}
+				start = segmentEnd + 1;
+			}
+			if (node != root) {
+				node.flags |= flags;
+			}
+		}
+
+		public void write(ByteArrayOutputStream out) {
+			ByteArrayOutputStream nodes = new ByteArrayOutputStream();
+			int rootOffset = write(root, nodes);
+			writeInt(out, nodes.size());
+			writeInt(out, rootOffset);
+			out.writeBytes(nodes.toByteArray());
+		}
+
+		/**
+		 * Writes the children of a node, then the node.
+		 *
+		 * @return the offset of the node.
+		 */
+		private static int write(Node node, ByteArrayOutputStream nodes) {
+			int[] childOffsets = new int[node.children == null ? 0 : node.children.size()];
+			if (node.children != null) {
+				int i = 0;
+				for (Node child : node.children.values()) {
+					childOffsets[i++] = write(child, nodes);
+				}
+			}
+			int offset = nodes.size();
+			writeVarint(nodes, node.name.length());
+			for (int i = 0; i < node.name.length(); i++) {
+				writeVarint(nodes, node.name.charAt(i));
+			}
+			writeVarint(nodes, node.flags);
+			writeVarint(nodes, childOffsets.length);
+			for (int childOffset : childOffsets) {
+				writeInt(nodes, childOffset);
+			}
+			return offset;
+		}
+	}
+
+	private static final class Node {
+
+		private final String name;
+
+		private int flags;
+
+		/** Sorted by name, like the encoded children */
+		private Map<String, Node> children;
+
+		Node(String name) {
+			this.name = name;
+		}
+
+		Node getOrCreateChild(String childName) {
+			if (children == null) {
+				children = new TreeMap<>();
+			}
+			return children.computeIfAbsent(childName, Node::new);
+		}
+	}
+}
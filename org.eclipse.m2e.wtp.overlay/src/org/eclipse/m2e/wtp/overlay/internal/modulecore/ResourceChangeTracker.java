@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.m2e.wtp.overlay.internal.modulecore;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Counts the changes of workspace resources, so overlay components can keep their content until one of the
+ * resources it was built from changes.
+ * <p>
+ * A path is watched once its stamp has been read : from then on, every resource delta adding, removing or
+ * modifying it or one of its descendants gives it a new stamp. Marker and synchronization changes are
+ * ignored. Paths are forgotten once their resource is removed, or their project closed, which makes the
+ * snapshots including them stale.
+ * </p>
+ *
+ * @provisional This class has been added as part of a work in progress.
+ * It is not guaranteed to work or remain the same in future releases.
+ * For more information contact <a href="mailto:m2e-wtp-dev@eclipse.org">m2e-wtp-dev@eclipse.org</a>.
+ */
+public class ResourceChangeTracker implements IResourceChangeListener {
+
+	private static final int IGNORED_FLAGS = IResourceDelta.MARKERS | IResourceDelta.SYNC;
+
+	/** Source of the stamps, so a forgotten path never gets one of its former stamps back */
+	private final AtomicLong generation = new AtomicLong();
+
+	/** Watched workspace paths and their stamps */
+	private final Map<IPath, Long> stamps = new ConcurrentHashMap<>();
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		for (IPath path : stamps.keySet()) {
+			if (isGone(delta, path)) {
+				stamps.remove(path);
+				continue;
+			}
+			IResourceDelta member = delta.findMember(path);
+			if (member != null && hasChanges(member)) {
+				stamps.put(path, generation.incrementAndGet());
+			}
+		}
+	}
+
+	/**
+	 * @return the current state of the workspace paths.
+	 */
+	public Snapshot snapshot(IPath... fullPaths) {
+		long[] pathStamps = new long[fullPaths.length];
+		for (int i = 0; i < fullPaths.length; i++) {
+			pathStamps[i] = stamps.computeIfAbsent(fullPaths[i], p -> generation.incrementAndGet());
+		}
+		return new Snapshot(this, fullPaths.clone(), pathStamps);
+	}
+
+	/**
+	 * Checks if the resource of a path, or one of its parents, was removed, or if its project was closed.
+	 */
+	private static boolean isGone(IResourceDelta delta, IPath path) {
+		for (int i = 1; i <= path.segmentCount(); i++) {
+			IResourceDelta member = delta.findMember(path.uptoSegment(i));
+			if (member == null) {
+				return false;
+			}
+			if (member.getKind() == IResourceDelta.REMOVED) {
+				return true;
+			}
+			if (i == 1 && (member.getFlags() & IResourceDelta.OPEN) != 0 && !member.getResource().isAccessible()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean hasChanges(IResourceDelta delta) {
+		if (delta.getKind() != IResourceDelta.CHANGED || (delta.getFlags() & ~IGNORED_FLAGS) != 0) {
+			return true;
+		}
+		for (IResourceDelta child : delta.getAffectedChildren()) {
+			if (hasChanges(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * State of some workspace paths, at the time a resource was built from them.
+	 */
+	public static final class Snapshot {
+
+		private final ResourceChangeTracker tracker;
+
+		private final IPath[] fullPaths;
+
+		private final long[] stamps;
+
+		Snapshot(ResourceChangeTracker tracker, IPath[] fullPaths, long[] stamps) {
+			this.tracker = tracker;
+			this.fullPaths = fullPaths;
+			this.stamps = stamps;
+		}
+
+		/**
+		 * @return true if none of the paths changed, nor was forgotten, since the snapshot was taken.
+		 */
+		public boolean isCurrent() {
+			for (int i = 0; i < fullPaths.length; i++) {
+				Long stamp = tracker.stamps.get(fullPaths[i]);
+				if (stamp == null || stamp.longValue() != stamps[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
@@ -0,0 +1,287 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.m2e.wtp.overlay.internal.modulecore;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.m2e.wtp.overlay.internal.modulecore.FileSystemResourceFilter.ScanResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Store of the {@link ScanResult}s of overlay folders, in a folder of the plugin state location.
+ * <p>
+ * Scan results are identified by a hash of the scanned folder, its timestamp and the scan patterns, so any
+ * change produces a new entry and older ones are never read again. The store is bounded : entries not used
+ * for {@link #MAX_AGE} are deleted, and the least recently used ones are evicted once the store exceeds
+ * {@link #MAX_SIZE}. The last modification time of an entry file is its last use time.
+ * </p>
+ *
+ * @provisional This class has been added as part of a work in progress.
+ * It is not guaranteed to work or remain the same in future releases.
+ * For more information contact <a href="mailto:m2e-wtp-dev@eclipse.org">m2e-wtp-dev@eclipse.org</a>.
+ */
+public class ScanResultCache {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ScanResultCache.class);
+
+	static final long MAX_SIZE = 64L * 1024 * 1024;
+
+	static final long MAX_AGE = TimeUnit.DAYS.toMillis(30);
+
+	/** Number of scan results kept in memory */
+	private static final int MAX_LOADED = 64;
+
+	/** Size of the buffer used to read the header of an entry */
+	private static final int HEADER_SIZE = 8 * 1024;
+
+	private static final String EXTENSION = ".scan"; //$NON-NLS-1$
+
+	private static final String TMP_EXTENSION = ".tmp"; //$NON-NLS-1$
+
+	private final File folder;
+
+	private final File legacyFolder;
+
+	private final Map<String, ScanResult> loaded = new LinkedHashMap<String, ScanResult>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, ScanResult> eldest) {
+			return size() > MAX_LOADED;
+		}
+	};
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * @param stateLocation the plugin state location. Entries are stored in its <code>scans</code> folder.
+	 */
+	public ScanResultCache(File stateLocation) {
+		this.folder = new File(stateLocation, "scans"); //$NON-NLS-1$
+		this.legacyFolder = stateLocation;
+	}
+
+	/**
+	 * @return the stored scan result, or null if there's none.
+	 */
+	ScanResult get(String scanId) {
+		synchronized (loaded) {
+			ScanResult result = loaded.get(scanId);
+			if (result != null) {
+				hits.incrementAndGet();
+				return result;
+			}
+		}
+		File file = getFile(scanId);
+		ScanResult result = null;
+		if (file.isFile()) {
+			try {
+				result = ScanResult.decode(map(file));
+			} catch (IOException ex) {
+				LOG.error("Unable to read scan results " + file, ex); //$NON-NLS-1$
+			}
+			if (result == null) {
+				delete(file);
+			} else {
+				file.setLastModified(System.currentTimeMillis());
+			}
+		}
+		if (result == null) {
+			misses.incrementAndGet();
+			return null;
+		}
+		hits.incrementAndGet();
+		synchronized (loaded) {
+			loaded.put(scanId, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Stores an encoded scan result, evicting the least recently used entries if the store is full.
+	 *
+	 * @return the stored scan result, read from its file if it could be written.
+	 */
+	ScanResult put(String scanId, byte[] bytes) {
+		ByteBuffer buffer;
+		try {
+			buffer = write(scanId, bytes);
+		} catch (IOException ex) {
+			LOG.error("Unable to write scan results " + scanId, ex); //$NON-NLS-1$
+			buffer = ByteBuffer.wrap(bytes);
+		}
+		ScanResult result = ScanResult.decode(buffer);
+		if (result != null) {
+			synchronized (loaded) {
+				loaded.put(scanId, result);
+			}
+			evict();
+		}
+		return result;
+	}
+
+	private ByteBuffer write(String scanId, byte[] bytes) throws IOException {
+		if (!folder.mkdirs() && !folder.isDirectory()) {
+			throw new IOException("Unable to create " + folder); //$NON-NLS-1$
+		}
+		File file = getFile(scanId);
+		File tmpFile = new File(folder, scanId + TMP_EXTENSION);
+		Files.write(tmpFile.toPath(), bytes);
+		Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		return map(file);
+	}
+
+	/**
+	 * Deletes the entries not used for {@link #MAX_AGE}, or whose scanned folder doesn't exist anymore, the
+	 * leftovers of interrupted writes and of the previous storage layout, then evicts the least recently
+	 * used entries if the store exceeds {@link #MAX_SIZE}.
+	 */
+	public void cleanUp() {
+		File[] legacyFiles = legacyFolder.listFiles(f -> f.isFile() && f.getName().endsWith(EXTENSION));
+		if (legacyFiles != null) {
+			for (File legacyFile : legacyFiles) {
+				delete(legacyFile);
+			}
+		}
+		File[] files = folder.listFiles(File::isFile);
+		if (files == null) {
+			return;
+		}
+		long expired = System.currentTimeMillis() - MAX_AGE;
+		for (File file : files) {
+			if (file.getName().endsWith(TMP_EXTENSION)) {
+				delete(file);
+			} else if (file.getName().endsWith(EXTENSION) && !isLoaded(file)
+					&& (file.lastModified() < expired || !baseDirExists(file))) {
+				delete(file);
+				evictions.incrementAndGet();
+			}
+		}
+		evict();
+	}
+
+	/**
+	 * Deletes the least recently used entries, not loaded in memory, until the store fits in {@link #MAX_SIZE}.
+	 */
+	private void evict() {
+		File[] files = folder.listFiles(f -> f.isFile() && f.getName().endsWith(EXTENSION));
+		if (files == null) {
+			return;
+		}
+		long size = 0;
+		List<File> candidates = new ArrayList<>(files.length);
+		for (File file : files) {
+			size += file.length();
+			if (!isLoaded(file)) {
+				candidates.add(file);
+			}
+		}
+		if (size <= MAX_SIZE) {
+			return;
+		}
+		//Snapshot the timestamps, they may change while sorting
+		Map<File, Long> lastModified = new HashMap<>();
+		for (File file : candidates) {
+			lastModified.put(file, file.lastModified());
+		}
+		candidates.sort(Comparator.comparing(lastModified::get));
+		for (int i = 0; i < candidates.size() && size > MAX_SIZE; i++) {
+			File file = candidates.get(i);
+			long length = file.length();
+			if (delete(file)) {
+				size -= length;
+				evictions.incrementAndGet();
+			}
+		}
+	}
+
+	private boolean isLoaded(File file) {
+		String name = file.getName();
+		String scanId = name.substring(0, name.length() - EXTENSION.length());
+		synchronized (loaded) {
+			return loaded.containsKey(scanId);
+		}
+	}
+
+	/**
+	 * Reads the scanned folder from the header of an entry, copied to the heap so the file can be deleted
+	 * on every platform.
+	 */
+	private static boolean baseDirExists(File file) {
+		byte[] header = new byte[(int) Math.min(HEADER_SIZE, file.length())];
+		try (InputStream in = Files.newInputStream(file.toPath())) {
+			int read = in.readNBytes(header, 0, header.length);
+			String baseDir = ScanResult.decodeBaseDir(ByteBuffer.wrap(header, 0, read));
+			return new File(baseDir).isDirectory();
+		} catch (IOException | IndexOutOfBoundsException ex) {
+			//Unreadable or truncated, or a header longer than the buffer
+			return false;
+		}
+	}
+
+	private static boolean delete(File file) {
+		try {
+			Files.deleteIfExists(file.toPath());
+			return true;
+		} catch (IOException ex) {
+			//Still mapped, it'll be deleted by the next clean up
+			LOG.debug("Unable to delete " + file, ex); //$NON-NLS-1$
+			return false;
+		}
+	}
+
+	private static MappedByteBuffer map(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+	}
+
+	private File getFile(String scanId) {
+		return new File(folder, scanId + EXTENSION);
+	}
+
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	public long getEvictionCount() {
+		return evictions.get();
+	}
+
+	@Override
+	public String toString() {
+		return "ScanResultCache [hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+}
@@ -0,0 +1,235 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.m2e.wtp.overlay.internal.modulecore;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.m2e.wtp.overlay.OverlayConstants;
+import org.eclipse.m2e.wtp.overlay.modulecore.UnpackArchiveJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Schedules the {@link UnpackArchiveJob}s, so a workspace import doesn't unpack every overlay at once.
+ * <p>
+ * At most {@link OverlayConstants#P_MAX_CONCURRENT_UNPACKS} jobs run at the same time, the others wait in a
+ * queue, urgent requests first. Requests are merged by unpack folder, the unit an {@link UnpackArchiveJob}
+ * writes and locks : a request for a queued folder replaces the queued one. A request for a folder being
+ * unpacked is kept as a follow-up, queued once the running unpack completes, if its archive, archive
+ * modification time, or inclusions and exclusions differ from the running one, otherwise it's merged into
+ * the running unpack. Only the latest follow-up of a folder is kept.
+ * </p>
+ *
+ * @provisional This class has been added as part of a work in progress.
+ * It is not guaranteed to work or remain the same in future releases.
+ * For more information contact <a href="mailto:m2e-wtp-dev@eclipse.org">m2e-wtp-dev@eclipse.org</a>.
+ */
+public class UnpackScheduler {
+
+	private static final Logger LOG = LoggerFactory.getLogger(UnpackScheduler.class);
+
+	static final int DEFAULT_MAX_CONCURRENT_UNPACKS = 2;
+
+	private static final Comparator<Request> ORDER = Comparator.comparing((Request r) -> !r.urgent)
+			.thenComparingLong(r -> r.sequence);
+
+	/** Unpack folder -> request waiting for a slot, guarded by this */
+	private final Map<IFolder, Request> pending = new HashMap<>();
+
+	/** Unpack folder -> request being unpacked, guarded by this */
+	private final Map<IFolder, Request> running = new HashMap<>();
+
+	/** Unpack folder -> latest request received while it was being unpacked, guarded by this */
+	private final Map<IFolder, Request> followUps = new HashMap<>();
+
+	private long sequence;
+
+	private boolean disposed;
+
+	private final AtomicLong requests = new AtomicLong();
+
+	private final AtomicLong mergedRequests = new AtomicLong();
+
+	private final AtomicLong unpacks = new AtomicLong();
+
+	private final AtomicLong unpackedBytes = new AtomicLong();
+
+	private final AtomicLong unpackNanos = new AtomicLong();
+
+	/**
+	 * Requests an unpack, run once a slot is free.
+	 *
+	 * @param urgent whether the unpacked files are needed right away, like for a publish, so the request
+	 *          goes before the others.
+	 */
+	public synchronized void schedule(UnpackArchiveJob job, boolean urgent) {
+		requests.incrementAndGet();
+		if (disposed) {
+			return;
+		}
+		IFolder unpackFolder = job.getUnpackFolder();
+		Request current = running.get(unpackFolder);
+		if (current != null) {
+			Request previous = followUps.get(unpackFolder);
+			if (isSameUnpack(current.job, job)) {
+				//The running unpack already produces the requested files, an older follow-up is obsolete
+				mergedRequests.incrementAndGet();
+				followUps.remove(unpackFolder);
+			} else if (previous != null) {
+				mergedRequests.incrementAndGet();
+				followUps.put(unpackFolder, new Request(job, urgent || previous.urgent, previous.sequence));
+			} else {
+				followUps.put(unpackFolder, new Request(job, urgent, sequence++));
+			}
+			return;
+		}
+		Request previous = pending.get(unpackFolder);
+		if (previous != null) {
+			mergedRequests.incrementAndGet();
+			//Keeps its place, but unpacks with the latest inclusions and exclusions
+			pending.put(unpackFolder, new Request(job, urgent || previous.urgent, previous.sequence));
+		} else {
+			pending.put(unpackFolder, new Request(job, urgent, sequence++));
+		}
+		dispatch();
+	}
+
+	private static boolean isSameUnpack(UnpackArchiveJob job, UnpackArchiveJob other) {
+		return job.getArchive().equals(other.getArchive())
+				&& job.getArchiveLastModified() == other.getArchiveLastModified()
+				&& job.getFilterId().equals(other.getFilterId());
+	}
+
+	/**
+	 * Discards the pending requests and cancels the running unpacks.
+	 */
+	public void dispose() {
+		List<Request> cancelled;
+		synchronized (this) {
+			disposed = true;
+			pending.clear();
+			followUps.clear();
+			cancelled = new ArrayList<>(running.values());
+		}
+		for (Request request : cancelled) {
+			request.job.cancel();
+		}
+	}
+
+	private synchronized void dispatch() {
+		int maxConcurrentUnpacks = getMaxConcurrentUnpacks();
+		while (!disposed && running.size() < maxConcurrentUnpacks && !pending.isEmpty()) {
+			Request next = pending.values().stream().min(ORDER).get();
+			IFolder unpackFolder = next.job.getUnpackFolder();
+			pending.remove(unpackFolder);
+			running.put(unpackFolder, next);
+			next.job.setPriority(next.urgent ? Job.SHORT : Job.LONG);
+			next.job.addJobChangeListener(new JobChangeAdapter() {
+
+				private long start;
+
+				@Override
+				public void running(IJobChangeEvent event) {
+					start = System.nanoTime();
+				}
+
+				@Override
+				public void done(IJobChangeEvent event) {
+					if (event.getResult() != null && event.getResult().getSeverity() == IStatus.OK && start != 0) {
+						unpacks.incrementAndGet();
+						unpackedBytes.addAndGet(next.job.getArchive().length());
+						unpackNanos.addAndGet(System.nanoTime() - start);
+					}
+					finished(unpackFolder);
+				}
+			});
+			next.job.schedule();
+		}
+	}
+
+	private synchronized void finished(IFolder unpackFolder) {
+		running.remove(unpackFolder);
+		Request followUp = followUps.remove(unpackFolder);
+		if (followUp != null && !disposed) {
+			//Queued like any other request, a new request for the folder can't have been queued meanwhile
+			pending.put(unpackFolder, followUp);
+		}
+		dispatch();
+		if (LOG.isDebugEnabled()) {
+			LOG.debug(getStatistics());
+		}
+	}
+
+	private static int getMaxConcurrentUnpacks() {
+		int max = InstanceScope.INSTANCE.getNode(OverlayConstants.PLUGIN_ID)
+				.getInt(OverlayConstants.P_MAX_CONCURRENT_UNPACKS, DEFAULT_MAX_CONCURRENT_UNPACKS);
+		return Math.max(1, max);
+	}
+
+	/**
+	 * @return the number of requests waiting for a slot, or for the unpack of their folder to complete.
+	 */
+	public synchronized int getQueueDepth() {
+		return pending.size() + followUps.size();
+	}
+
+	/**
+	 * @return the number of unpacks running.
+	 */
+	public synchronized int getRunningCount() {
+		return running.size();
+	}
+
+	/**
+	 * @return the number of requests merged into one already queued, or waiting for the unpack of the same folder.
+	 */
+	public long getMergedCount() {
+		return mergedRequests.get();
+	}
+
+	/**
+	 * @return the number of unpacks completed successfully.
+	 */
+	public long getUnpackCount() {
+		return unpacks.get();
+	}
+
+	/**
+	 * @return the average number of archive bytes unpacked per second by an unpack, 0 if none completed.
+	 */
+	public long getThroughput() {
+		long nanos = unpackNanos.get();
+		return nanos == 0 ? 0 : unpackedBytes.get() * 1_000_000_000L / nanos;
+	}
+
+	public String getStatistics() {
+		return "UnpackScheduler [requests=" + requests + ", merged=" + mergedRequests + ", queued=" + getQueueDepth() //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ ", running=" + getRunningCount() + ", unpacks=" + unpacks + ", throughput=" + getThroughput() + "B/s]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+
+	@Override
+	public String toString() {
+		return getStatistics();
+	}
+
+	private record Request(UnpackArchiveJob job, boolean urgent, long sequence) {
+	}
+}
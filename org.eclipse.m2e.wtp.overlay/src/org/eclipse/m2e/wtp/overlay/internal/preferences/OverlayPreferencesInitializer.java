@@ -24,5 +24,8 @@ public class OverlayPreferencesInitializer extends AbstractPreferenceInitializer
 public void initializeDefaultPreferences() {
     IEclipsePreferences store = DefaultScope.INSTANCE.getNode(OverlayPluginActivator.PLUGIN_ID);
     store.putBoolean(OverlayConstants.P_REPUBLISH_ON_PROJECT_CHANGE, true);
+    store.putInt(OverlayConstants.P_REPUBLISH_DELAY, 500);
+    store.putBoolean(OverlayConstants.P_SHARE_UNPACKED_ARCHIVES, false);
+    store.putInt(OverlayConstants.P_MAX_CONCURRENT_UNPACKS, 2);
   }
 }
\ No newline at end of file
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.m2e.wtp.overlay.internal.servers;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.m2e.wtp.overlay.internal.modulecore.OverlayVirtualComponent;
+import org.eclipse.wst.common.componentcore.ComponentCore;
+import org.eclipse.wst.common.componentcore.ModuleCoreNature;
+import org.eclipse.wst.common.componentcore.resources.IVirtualComponent;
+import org.eclipse.wst.common.componentcore.resources.IVirtualReference;
+
+/**
+ * Index of the projects overlaid by module projects, and of the module projects consuming each overlaid
+ * project.
+ * <p>
+ * The overlays of a module project are collected by walking the references of its component, recursively.
+ * They're kept until the structure of one of the walked projects changes : its .component file or its
+ * description is modified, or it's added, removed, opened or closed.
+ * </p>
+ */
+final class OverlayDependencyIndex {
+
+	private static final IPath COMPONENT_FILE = new Path(".settings/org.eclipse.wst.common.component"); //$NON-NLS-1$
+
+	private static final int STRUCTURE_FLAGS = IResourceDelta.OPEN | IResourceDelta.DESCRIPTION;
+
+	/** Module project -> overlaid projects */
+	private final Map<IProject, Set<IProject>> overlays = new HashMap<>();
+
+	/** Module project -> projects walked to collect its overlays */
+	private final Map<IProject, Set<IProject>> walkedProjects = new HashMap<>();
+
+	/** Overlaid project -> module projects */
+	private final Map<IProject, Set<IProject>> consumers = new HashMap<>();
+
+	/** Walked project -> module projects */
+	private final Map<IProject, Set<IProject>> dependents = new HashMap<>();
+
+	/**
+	 * Collects the overlays of a module project, unless they're already indexed.
+	 */
+	synchronized void index(IProject moduleProject) {
+		if (moduleProject == null || overlays.containsKey(moduleProject)) {
+			return;
+		}
+		Set<IProject> moduleOverlays = new HashSet<>();
+		Set<IProject> analyzedProjects = new HashSet<>();
+		analyzedProjects.add(moduleProject);
+		collectOverlays(moduleProject, moduleOverlays, analyzedProjects);
+
+		overlays.put(moduleProject, moduleOverlays);
+		walkedProjects.put(moduleProject, analyzedProjects);
+		for (IProject overlay : moduleOverlays) {
+			consumers.computeIfAbsent(overlay, p -> new HashSet<>()).add(moduleProject);
+		}
+		for (IProject walked : analyzedProjects) {
+			dependents.computeIfAbsent(walked, p -> new HashSet<>()).add(moduleProject);
+		}
+	}
+
+	/**
+	 * @return the indexed module projects overlaying one of the projects.
+	 */
+	synchronized Set<IProject> getConsumers(Collection<IProject> overlaidProjects) {
+		Set<IProject> moduleProjects = null;
+		for (IProject overlaidProject : overlaidProjects) {
+			Set<IProject> projects = consumers.get(overlaidProject);
+			if (projects != null) {
+				if (moduleProjects == null) {
+					moduleProjects = new HashSet<>();
+				}
+				moduleProjects.addAll(projects);
+			}
+		}
+		return moduleProjects == null ? Collections.<IProject>emptySet() : moduleProjects;
+	}
+
+	/**
+	 * Drops the overlays of the module projects depending on a project whose structure changed.
+	 */
+	synchronized void update(IResourceDelta delta) {
+		if (dependents.isEmpty()) {
+			return;
+		}
+		for (IResourceDelta projectDelta : delta.getAffectedChildren()) {
+			IResource resource = projectDelta.getResource();
+			if (resource instanceof IProject project && dependents.containsKey(project)
+					&& isStructureChanged(projectDelta)) {
+				for (IProject moduleProject : dependents.get(project).toArray(new IProject[0])) {
+					remove(moduleProject);
+				}
+			}
+		}
+	}
+
+	private void remove(IProject moduleProject) {
+		Set<IProject> moduleOverlays = overlays.remove(moduleProject);
+		if (moduleOverlays != null) {
+			for (IProject overlay : moduleOverlays) {
+				removeValue(consumers, overlay, moduleProject);
+			}
+		}
+		Set<IProject> walked = walkedProjects.remove(moduleProject);
+		if (walked != null) {
+			for (IProject project : walked) {
+				removeValue(dependents, project, moduleProject);
+			}
+		}
+	}
+
+	private static void removeValue(Map<IProject, Set<IProject>> map, IProject key, IProject value) {
+		Set<IProject> values = map.get(key);
+		if (values != null && values.remove(value) && values.isEmpty()) {
+			map.remove(key);
+		}
+	}
+
+	private static boolean isStructureChanged(IResourceDelta projectDelta) {
+		return projectDelta.getKind() != IResourceDelta.CHANGED
+				|| (projectDelta.getFlags() & STRUCTURE_FLAGS) != 0
+				|| projectDelta.findMember(COMPONENT_FILE) != null;
+	}
+
+	private static void collectOverlays(IProject project, Collection<IProject> overlays, Set<IProject> analyzedProjects) {
+		if (!ModuleCoreNature.isFlexibleProject(project)) {
+			return;
+		}
+		IVirtualComponent component = ComponentCore.createComponent(project);
+		if (component == null) {
+			return;
+		}
+		IVirtualReference[] references = component.getReferences();
+		if (references == null || references.length == 0) {
+			return;
+		}
+		for (IVirtualReference reference : references) {
+			IVirtualComponent vc = reference.getReferencedComponent();
+			IProject refProject = vc.getProject();
+			if (project == refProject) {
+				continue;
+			}
+			if (OverlayVirtualComponent.class.equals(vc.getClass())) {
+				overlays.add(refProject);
+			}
+			if (analyzedProjects.add(refProject)) {
+				collectOverlays(refProject, overlays, analyzedProjects);
+			}
+		}
+	}
+}
@@ -10,7 +10,6 @@
 package org.eclipse.m2e.wtp.overlay.internal.servers;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -24,14 +23,6 @@ import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.resources.ResourcesPlugin;
-import org.eclipse.core.runtime.NullProgressMonitor;
-import org.eclipse.core.runtime.preferences.InstanceScope;
-import org.eclipse.m2e.wtp.overlay.OverlayConstants;
-import org.eclipse.m2e.wtp.overlay.internal.modulecore.OverlayVirtualComponent;
-import org.eclipse.wst.common.componentcore.ComponentCore;
-import org.eclipse.wst.common.componentcore.ModuleCoreNature;
-import org.eclipse.wst.common.componentcore.resources.IVirtualComponent;
-import org.eclipse.wst.common.componentcore.resources.IVirtualReference;
 import org.eclipse.wst.server.core.IModule;
 import org.eclipse.wst.server.core.IServer;
 import org.eclipse.wst.server.core.ServerCore;
@@ -45,12 +36,18 @@ import org.eclipse.wst.server.core.internal.Server;
  */
 public class OverlayResourceChangeListener implements IResourceChangeListener {
 
+	private final OverlayDependencyIndex overlayIndex = new OverlayDependencyIndex();
+
+	private final RepublishScheduler republishScheduler = new RepublishScheduler();
+
 	@Override
 	public void resourceChanged(IResourceChangeEvent event) {
 		IResourceDelta delta =  event.getDelta();
 		if (delta == null) {
 			return;
 		}
+		//Keep the index up to date, even when no server needs it
+		overlayIndex.update(delta);
 
 		IServer[] servers = ServerCore.getServers();
 		if (servers.length == 0) {
@@ -71,33 +68,31 @@ public class OverlayResourceChangeListener implements IResourceChangeListener {
 		}
 		
 		Map<IServer, List<IModule>> republishableServers = new HashMap<IServer, List<IModule>>(servers.length);
-		Map<IProject, Collection<IProject>> overlaidProjects = new HashMap<IProject, Collection<IProject>>();
 		
+		//Only walks the references of modules not indexed yet
 		for (IServer server : servers) {
-			modules : for (IModule module : server.getModules()) {
-				if (server.getModulePublishState(new IModule[]{module}) == IServer.PUBLISH_STATE_INCREMENTAL) {
+			for (IModule module : server.getModules()) {
+				overlayIndex.index(module.getProject());
+			}
+		}
+		Set<IProject> consumerProjects = overlayIndex.getConsumers(changedProjects);
+		if (consumerProjects.isEmpty()) {
+			return;
+		}
+		
+		for (IServer server : servers) {
+			for (IModule module : server.getModules()) {
+				if (!consumerProjects.contains(module.getProject())
+						|| server.getModulePublishState(new IModule[]{module}) == IServer.PUBLISH_STATE_INCREMENTAL) {
 					continue;
 				}
-				IProject moduleProject = module.getProject();
-				Collection<IProject> overlays = overlaidProjects.get(moduleProject);
-				if (overlays == null) {
-					overlays = new HashSet<>();
-					overlaidProjects.put(moduleProject, overlays);
-					Set<IProject> analyzedProjects = new HashSet<>();
-					analyzedProjects.add(moduleProject);
-					collectOverlays(moduleProject, overlays, analyzedProjects);
-				}
-				for (IProject changedProject : changedProjects) {
-					if (overlays.contains(changedProject)) {
-						List<IModule> republishableModules = republishableServers.get(server);
-						if (republishableModules == null) {
-							republishableModules = new ArrayList<>(server.getModules().length);
-							republishableServers.put(server, republishableModules);
-						}
-						republishableModules.add(module);
-						break modules;
-					}
+				List<IModule> republishableModules = republishableServers.get(server);
+				if (republishableModules == null) {
+					republishableModules = new ArrayList<>(server.getModules().length);
+					republishableServers.put(server, republishableModules);
 				}
+				republishableModules.add(module);
+				break;
 			}
 		}
 		
@@ -105,7 +100,7 @@ public class OverlayResourceChangeListener implements IResourceChangeListener {
 			return;
 		}
 		
-		boolean isPublishOverlaysEnabled = isPublishOverlaysEnabled();
+		boolean isPublishOverlaysEnabled = RepublishScheduler.isRepublishEnabled();
 		for(Map.Entry<IServer, List<IModule>> entries : republishableServers.entrySet()) {
 			IServer iserver = entries.getKey();
 			boolean shouldPublish = isPublishOverlaysEnabled;
@@ -120,15 +115,17 @@ public class OverlayResourceChangeListener implements IResourceChangeListener {
 						                (autoPublishSetting == Server.AUTO_PUBLISH_BUILD && buildOccurred));
 			}
 			if (shouldPublish && iserver.getServerState() == IServer.STATE_STARTED) {
-				iserver.publish(IServer.PUBLISH_INCREMENTAL, new NullProgressMonitor());
+				//Publishes once the changes settle, outside of the resource change notification
+				republishScheduler.schedule(iserver);
 			} 
 		}
 	}
 
-	private boolean isPublishOverlaysEnabled() {
-	  boolean isEnabled = InstanceScope.INSTANCE.getNode(OverlayConstants.PLUGIN_ID)
-	                      .getBoolean(OverlayConstants.P_REPUBLISH_ON_PROJECT_CHANGE, true);
-	  return isEnabled;
+	/**
+	 * Cancels the pending republish requests.
+	 */
+	public void dispose() {
+		republishScheduler.cancel();
 	}
 
 	private Set<IProject> getChangedProjects(IResourceDelta[] projectDeltas) {
@@ -153,34 +150,4 @@ public class OverlayResourceChangeListener implements IResourceChangeListener {
                 (kind == IncrementalProjectBuilder.FULL_BUILD) ||
                 ((kind == IncrementalProjectBuilder.AUTO_BUILD && ResourcesPlugin.getWorkspace().isAutoBuilding()));
      }
-
-     private void collectOverlays(IProject project, Collection<IProject> overlays, Set<IProject> analyzedProjects) {
-       if (!ModuleCoreNature.isFlexibleProject(project)) {
-         return;
-       }
-       IVirtualComponent component = ComponentCore.createComponent(project);
-       if (component == null) {
-         return;
-       }
-       IVirtualReference[] references = component.getReferences();
-       if (references == null || references.length == 0) {
-         return;
-       }
-       for (IVirtualReference reference : references) {
-         IVirtualComponent vc = reference.getReferencedComponent();
-         IProject refProject = vc.getProject();
-         if(project == refProject) {
-           continue;
-         }
-         if (OverlayVirtualComponent.class.equals(vc.getClass())){
-           if (!overlays.contains(refProject)) {
-             overlays.add(refProject);
-           }
-         }
-         if (!analyzedProjects.contains(refProject)) {
-           analyzedProjects.add(refProject);
-           collectOverlays(refProject, overlays, analyzedProjects);
-         }
-       }
-     }
 }
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.m2e.wtp.overlay.internal.servers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.m2e.wtp.overlay.OverlayConstants;
+import org.eclipse.m2e.wtp.overlay.internal.Messages;
+import org.eclipse.wst.server.core.IServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Republishes servers once overlay changes have settled.
+ * <p>
+ * Each request postpones publishing until no other request comes for a quiet window, read from the
+ * {@link OverlayConstants#P_REPUBLISH_DELAY} preference. Servers requested during a burst of changes, like a
+ * checkout or a build, are then published once each, by their own publish job.
+ * </p>
+ */
+class RepublishScheduler extends Job {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RepublishScheduler.class);
+
+	static final int DEFAULT_DELAY = 500;
+
+	private final Set<IServer> pendingServers = new LinkedHashSet<>();
+
+	private final AtomicLong requests = new AtomicLong();
+
+	private final AtomicLong coalescedRequests = new AtomicLong();
+
+	private final AtomicLong publishes = new AtomicLong();
+
+	RepublishScheduler() {
+		super(Messages.RepublishScheduler_Job);
+		setSystem(true);
+	}
+
+	/**
+	 * Requests an incremental publish of the server, after the quiet window.
+	 */
+	void schedule(IServer server) {
+		requests.incrementAndGet();
+		synchronized (pendingServers) {
+			if (!pendingServers.add(server)) {
+				coalescedRequests.incrementAndGet();
+			}
+		}
+		//Postpones a sleeping job
+		schedule(getDelay());
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		List<IServer> servers;
+		synchronized (pendingServers) {
+			servers = new ArrayList<>(pendingServers);
+			pendingServers.clear();
+		}
+		//Changed while waiting
+		if (!isRepublishEnabled()) {
+			return Status.OK_STATUS;
+		}
+		for (IServer server : servers) {
+			if (monitor.isCanceled()) {
+				return Status.CANCEL_STATUS;
+			}
+			if (server.getServerState() == IServer.STATE_STARTED) {
+				publishes.incrementAndGet();
+				server.publish(IServer.PUBLISH_INCREMENTAL, null, null, null);
+			}
+		}
+		if (LOG.isDebugEnabled()) {
+			LOG.debug(getStatistics());
+		}
+		return Status.OK_STATUS;
+	}
+
+	static boolean isRepublishEnabled() {
+		return InstanceScope.INSTANCE.getNode(OverlayConstants.PLUGIN_ID)
+				.getBoolean(OverlayConstants.P_REPUBLISH_ON_PROJECT_CHANGE, true);
+	}
+
+	private static long getDelay() {
+		int delay = InstanceScope.INSTANCE.getNode(OverlayConstants.PLUGIN_ID)
+				.getInt(OverlayConstants.P_REPUBLISH_DELAY, DEFAULT_DELAY);
+		return Math.max(0, delay);
+	}
+
+	/**
+	 * @return the number of republish requests.
+	 */
+	long getRequestCount() {
+		return requests.get();
+	}
+
+	/**
+	 * @return the number of requests merged into a publish already pending for the same server.
+	 */
+	long getCoalescedCount() {
+		return coalescedRequests.get();
+	}
+
+	/**
+	 * @return the number of publishes started.
+	 */
+	long getPublishCount() {
+		return publishes.get();
+	}
+
+	String getStatistics() {
+		return "RepublishScheduler [requests=" + requests + ", coalesced=" + coalescedRequests + ", publishes=" + publishes + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.m2e.wtp.overlay.internal.utilities;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.apache.tools.ant.DirectoryScanner;
+import org.apache.tools.ant.types.selectors.SelectorUtils;
+
+/**
+ * Selects archive entries using overlay inclusion and exclusion patterns.
+ * <p>
+ * Patterns are interpreted like the {@link DirectoryScanner} scanning unpacked overlays : no inclusion
+ * means everything is included, a pattern ending with a separator matches everything below it, and
+ * the Ant default exclusions always apply.
+ * </p>
+ */
+public class ArchiveEntryFilter {
+
+	private static final String ALL = "**"; //$NON-NLS-1$
+
+	private final String[] includes;
+
+	private final String[] excludes;
+
+	private final boolean includesAll;
+
+	private final String id;
+
+	public ArchiveEntryFilter(Collection<String> inclusions, Collection<String> exclusions) {
+		List<String> includeList = normalize(inclusions);
+		includesAll = includeList.isEmpty() || includeList.contains(ALL)
+				|| includeList.contains(ALL + File.separatorChar + ALL);
+		includes = includeList.toArray(new String[includeList.size()]);
+		List<String> excludeList = normalize(exclusions);
+		for (String defaultExclude : DirectoryScanner.getDefaultExcludes()) {
+			excludeList.add(PathUtil.useSystemSeparator(defaultExclude));
+		}
+		excludes = excludeList.toArray(new String[excludeList.size()]);
+		id = String.join(",", new TreeSet<>(includeList)) + "|" + String.join(",", new TreeSet<>(normalize(exclusions))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	/**
+	 * @return an identifier of the inclusion and exclusion patterns, the same for equivalent filters.
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * Checks if a file entry is selected.
+	 *
+	 * @param entryName the name of the entry in the archive, '/' separated
+	 */
+	public boolean accepts(String entryName) {
+		String path = PathUtil.useSystemSeparator(entryName);
+		if (!includesAll && !matchesAny(includes, path)) {
+			return false;
+		}
+		return !matchesAny(excludes, path);
+	}
+
+	private static boolean matchesAny(String[] patterns, String path) {
+		for (String pattern : patterns) {
+			if (SelectorUtils.matchPath(pattern, path, true)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static List<String> normalize(Collection<String> patterns) {
+		List<String> normalized = new ArrayList<>();
+		if (patterns != null) {
+			for (String pattern : patterns) {
+				if (pattern == null || pattern.isBlank()) {
+					continue;
+				}
+				String p = PathUtil.useSystemSeparator(pattern.trim());
+				if (p.endsWith(File.separator)) {
+					p += ALL;
+				}
+				normalized.add(p);
+			}
+		}
+		return normalized;
+	}
+}
@@ -15,15 +15,35 @@ package org.eclipse.m2e.wtp.overlay.internal.utilities;
 
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
-import org.apache.tools.ant.util.FileUtils;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.m2e.wtp.overlay.internal.Messages;
@@ -39,12 +59,28 @@ import org.eclipse.osgi.util.NLS;
  */
 public class CompressionUtil {
 	
-	private final static int BUFFER = 1024*4;
+	private final static int BUFFER = 1024*64;
+
+	/**
+	 * Maximum number of entries extracted concurrently 
+	 */
+	private final static int MAX_THREADS = Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors()));
+	
+	/**
+	 * Delay between 2 checks of the monitor cancellation, while waiting for the extracted entries 
+	 */
+	private final static long POLL_DELAY_MS = 100;
+
+	private final static AtomicInteger THREAD_COUNT = new AtomicInteger();
 	
 	private CompressionUtil() {}
 
 	/**
-	 * Unzips the platform formatted zip file to specified folder
+	 * Unzips the platform formatted zip file to specified folder.
+	 * <p>
+	 * The directory skeleton is created first, from the central directory of the archive, then
+	 * the files are extracted concurrently.
+	 * </p>
 	 * 
 	 * @param zipFile
 	 *            The platform formatted zip file
@@ -59,67 +95,233 @@ public class CompressionUtil {
 	public static void unzip(File archive, File projectFolderFile,
 			IProgressMonitor monitor) throws IOException,
 			FileNotFoundException, InterruptedException {
+		unzip(archive, projectFolderFile, null, null, monitor);
+	}
+
+	/**
+	 * Unzips the platform formatted zip file to specified folder, only writing the files which changed since a
+	 * previous extraction.
+	 * <p>
+	 * Files whose CRC and size match the previous manifest, and whose size and modification time on disk are unchanged,
+	 * are left untouched.
+	 * Files of the previous manifest which are no longer in the archive, or no longer selected, are deleted, other files
+	 * of the folder are kept. The written and deleted files are listed by {@link UnpackManifest#getChangedNames()}.
+	 * </p>
+	 * 
+	 * @param archive
+	 *            The platform formatted zip file
+	 * @param projectFolderFile
+	 *            The folder where to unzip the archive
+	 * @param previous
+	 *            The manifest of the previous extraction to this folder, or null to extract all the files
+	 * @param filter
+	 *            Selects the file entries to extract, or null to extract all of them
+	 * @param monitor
+	 *            Monitor to display progress and/or cancel operation
+	 * @return the manifest of the files extracted from the archive
+	 * @throws IOException
+	 * @throws FileNotFoundException
+	 * @throws InterruptedException
+	 */
+	public static UnpackManifest unzip(File archive, File projectFolderFile, UnpackManifest previous,
+			ArchiveEntryFilter filter, IProgressMonitor monitor) throws IOException,
+			FileNotFoundException, InterruptedException {
 
 		initialize(projectFolderFile);
 		
-		ZipFile zipFile = new ZipFile(archive);
-		Enumeration<? extends ZipEntry> e = zipFile.entries();
-
 		if (monitor == null) {
 			monitor = new NullProgressMonitor();
 		}
 		
-		monitor.beginTask(Messages.CompressionUtil_Extracting_Task, zipFile.size());
-		try {
+		try (ZipFile zipFile = new ZipFile(archive)) {
+			monitor.beginTask(Messages.CompressionUtil_Extracting_Task, zipFile.size());
+
+			//Read the central directory once, and create every needed directory, parents first
+			UnpackManifest manifest = new UnpackManifest(filter == null ? null : filter.getId());
+			//Archives may contain several entries with the same name, the last one wins, as with a sequential extraction
+			Map<String, ZipEntry> files = new LinkedHashMap<>();
+			Set<File> directories = new TreeSet<>();
+			Enumeration<? extends ZipEntry> e = zipFile.entries();
 			while (e.hasMoreElements()) {
 				ZipEntry zipEntry = e.nextElement();
 				File file = new File(projectFolderFile, zipEntry.getName());
-				
-				if (!zipEntry.isDirectory()) {
-					monitor.subTask(zipEntry.getName());
-								
-					File parentFile = file.getParentFile();
-					if (null != parentFile && !parentFile.exists()) {
-						parentFile.mkdirs();
-					}
-					
-					InputStream is = null;
-					OutputStream os = null;
-					
-					try {
-						is = zipFile.getInputStream(zipEntry);
-						os = new FileOutputStream(file);
-						
-						byte[] buffer = new byte[BUFFER];
-						while (true) {
-							int len = is.read(buffer);
-							if (len < 0)
-								break;
-							os.write(buffer, 0, len);
-						}
-					} finally {
-						FileUtils.close(is);
-						FileUtils.close(os);
+				if (zipEntry.isDirectory()) {
+					//Filtered folders are only created for their selected files
+					if (filter == null) {
+						directories.add(file);
 					}
+					monitor.worked(1);
+					continue;
 				}
-				
-				monitor.worked(1);
-				
-				if (monitor.isCanceled()) {
-					throw new InterruptedException(NLS.bind(Messages.CompressionUtil_Unzipping_Interrupted, archive.getAbsolutePath(), projectFolderFile.getAbsolutePath()));
+				if (filter != null && !filter.accepts(zipEntry.getName())) {
+					monitor.worked(1);
+					continue;
+				}
+				manifest.add(zipEntry);
+				files.remove(zipEntry.getName());
+				if (previous != null && previous.isUnchanged(zipEntry, file)) {
+					monitor.worked(1);
+					continue;
 				}
+				files.put(zipEntry.getName(), zipEntry);
+				File parentFile = file.getParentFile();
+				if (parentFile != null) {
+					directories.add(parentFile);
+				}
+			}
+			List<String> changedNames = new ArrayList<>(files.size());
+			if (previous != null) {
+				changedNames.addAll(deleteRemovedFiles(previous, manifest, projectFolderFile));
 			}
+			Path root = projectFolderFile.toPath();
+			for (File directory : directories) {
+				//mkdirs() is a no-op for the parents of an already created directory
+				if (!directory.isDirectory() && directory.mkdirs() && !directory.equals(projectFolderFile)) {
+					changedNames.add(root.relativize(directory.toPath()).toString().replace(File.separatorChar, '/'));
+				}
+			}
+			checkCanceled(monitor, archive, projectFolderFile);
+
+			extract(zipFile, files.values(), projectFolderFile, archive, monitor);
+			changedNames.addAll(files.keySet());
+			manifest.setChangedNames(changedNames);
+			return manifest;
+		}
+	}
+
+	/**
+	 * Deletes the files previously extracted which are not in the archive anymore, and the folders they leave empty.
+	 *
+	 * @return the names of the deleted files.
+	 */
+	static List<String> deleteRemovedFiles(UnpackManifest previous, UnpackManifest current, File projectFolderFile) throws IOException {
+		List<String> deleted = new ArrayList<>();
+		Path root = projectFolderFile.toPath().toAbsolutePath().normalize();
+		for (String name : previous.getNames()) {
+			if (current.contains(name)) {
+				continue;
+			}
+			Path path = root.resolve(name).normalize();
+			if (!path.startsWith(root) || !Files.isRegularFile(path)) {
+				continue;
+			}
+			Files.deleteIfExists(path);
+			deleted.add(name);
+			Path parent = path.getParent();
+			while (parent != null && !parent.equals(root) && isEmptyDirectory(parent)) {
+				Files.delete(parent);
+				parent = parent.getParent();
+			}
+		}
+		return deleted;
+	}
+
+	private static boolean isEmptyDirectory(Path directory) throws IOException {
+		if (!Files.isDirectory(directory)) {
+			return false;
+		}
+		try (DirectoryStream<Path> children = Files.newDirectoryStream(directory)) {
+			return !children.iterator().hasNext();
+		}
+	}
+
+	private static void extract(ZipFile zipFile, Collection<ZipEntry> files, File projectFolderFile, File archive,
+			IProgressMonitor monitor) throws IOException, InterruptedException {
+		if (files.isEmpty()) {
+			return;
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(MAX_THREADS, files.size()), CompressionUtil::newThread);
+		CompletionService<String> completionService = new ExecutorCompletionService<>(executor);
+		List<Future<String>> futures = new ArrayList<>(files.size());
+		try {
+			for (ZipEntry zipEntry : files) {
+				futures.add(completionService.submit(() -> {
+					extract(zipFile, zipEntry, new File(projectFolderFile, zipEntry.getName()));
+					return zipEntry.getName();
+				}));
+			}
+			//Progress is reported by the calling thread, as monitors are not thread safe
+			int remaining = files.size();
+			while (remaining > 0) {
+				checkCanceled(monitor, archive, projectFolderFile);
+				Future<String> done = completionService.poll(POLL_DELAY_MS, TimeUnit.MILLISECONDS);
+				if (done == null) {
+					continue;
+				}
+				remaining--;
+				monitor.subTask(getResult(done));
+				monitor.worked(1);
+			}
+			checkCanceled(monitor, archive, projectFolderFile);
 		} finally {
-			if (zipFile != null) {
-				try {
-					zipFile.close();
-				} catch (IOException ioe) {
-					//ignore
+			for (Future<String> future : futures) {
+				future.cancel(false);
+			}
+			executor.shutdown();
+			//Don't close the archive while entries are still being read
+			executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private static void extract(ZipFile zipFile, ZipEntry zipEntry, File file) throws IOException {
+		//Replace rather than overwrite, breaking the link if the file is linked to the shared unpack store
+		Files.deleteIfExists(file.toPath());
+		try (InputStream is = zipFile.getInputStream(zipEntry);
+			 FileChannel out = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			long size = zipEntry.getSize();
+			if (zipEntry.getMethod() == ZipEntry.STORED && size >= 0) {
+				//Stored entries are raw bytes of the archive, transferred in one call rather than a copy loop.
+				//The stream is wrapped in a channel, so the bytes still go through its buffer
+				ReadableByteChannel in = Channels.newChannel(is);
+				long position = 0;
+				while (position < size) {
+					long transferred = out.transferFrom(in, position, size - position);
+					if (transferred <= 0) {
+						break;
+					}
+					position += transferred;
+				}
+			} else {
+				OutputStream os = Channels.newOutputStream(out);
+				byte[] buffer = new byte[BUFFER];
+				int len;
+				while ((len = is.read(buffer)) >= 0) {
+					os.write(buffer, 0, len);
 				}
 			}
 		}
 	}
 
+	private static String getResult(Future<String> future) throws IOException, InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof IOException ioe) {
+				throw ioe;
+			}
+			if (cause instanceof RuntimeException re) {
+				throw re;
+			}
+			if (cause instanceof Error err) {
+				throw err;
+			}
+			throw new IOException(cause);
+		}
+	}
+
+	private static void checkCanceled(IProgressMonitor monitor, File archive, File projectFolderFile) throws InterruptedException {
+		if (monitor.isCanceled()) {
+			throw new InterruptedException(NLS.bind(Messages.CompressionUtil_Unzipping_Interrupted, archive.getAbsolutePath(), projectFolderFile.getAbsolutePath()));
+		}
+	}
+
+	private static Thread newThread(Runnable runnable) {
+		Thread thread = new Thread(runnable, "m2e-wtp overlay extractor " + THREAD_COUNT.incrementAndGet()); //$NON-NLS-1$
+		thread.setDaemon(true);
+		return thread;
+	}
+
 	private static void initialize(File outputDirectory) throws IOException {
       // Create output directory if needed
       if (!outputDirectory.mkdirs() && !outputDirectory.exists())
@@ -0,0 +1,353 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.m2e.wtp.overlay.internal.utilities;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.m2e.wtp.overlay.OverlayConstants;
+import org.eclipse.m2e.wtp.overlay.internal.OverlayPluginActivator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Workspace-wide store of unpacked archives, shared by all the projects overlaying them.
+ * <p>
+ * Archives are unpacked once per content and selection of entries, in a folder of the plugin state
+ * location named after the SHA-256 of the archive and the entry filter. Unpack folders of projects
+ * are then filled with hard links to the unpacked files, or with copies where hard links aren't
+ * supported, so the rest of the overlay support is unchanged. Linked files are left writable : the
+ * extraction replaces files rather than overwriting them, which breaks their link, and stored files
+ * modified through a link are detected from their size and modification time, then unpacked again.
+ * </p>
+ * <p>
+ * Each stored folder records the unpack folders using it : a folder is deleted once the last of them
+ * switches to another version, stops sharing, or is deleted.
+ * </p>
+ */
+public class SharedUnpackStore {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SharedUnpackStore.class);
+
+	private static final String STORE_FOLDER = "shared-overlays"; //$NON-NLS-1$
+
+	private static final String CONTENT_FOLDER = "content"; //$NON-NLS-1$
+
+	private static final String CONSUMERS_FILE = "consumers"; //$NON-NLS-1$
+
+	/** Archive path -> checksum of its current version */
+	private static final Map<File, Checksum> checksums = new ConcurrentHashMap<>();
+
+	/** Store key -> lock held while unpacking or linking */
+	private static final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+	/** Guards the consumers files */
+	private static final Object consumersLock = new Object();
+
+	private SharedUnpackStore() {}
+
+	public static boolean isEnabled() {
+		return InstanceScope.INSTANCE.getNode(OverlayConstants.PLUGIN_ID)
+				.getBoolean(OverlayConstants.P_SHARE_UNPACKED_ARCHIVES, false)
+				&& getStoreFolder() != null;
+	}
+
+	/**
+	 * Unpacks the archive to the store if needed, then links the stored files to the unpack folder and saves its
+	 * manifest. Files of a previous extraction which are not in the archive anymore are deleted.
+	 *
+	 * @return the manifest of the files of the unpack folder, listing the files linked and deleted as changed.
+	 */
+	public static UnpackManifest unpack(File archive, File unpackFolder, UnpackManifest previous,
+			ArchiveEntryFilter filter, IProgressMonitor monitor) throws IOException, InterruptedException {
+		String filterId = filter == null ? "" : filter.getId(); //$NON-NLS-1$
+		String key = getChecksum(archive) + "-" + sha256(filterId); //$NON-NLS-1$
+		File entryFolder = new File(getStoreFolder(), key);
+		File contentFolder = new File(entryFolder, CONTENT_FOLDER);
+
+		ReentrantLock lock = locks.computeIfAbsent(key, k -> new ReentrantLock());
+		lock.lockInterruptibly();
+		try {
+			//The folder content is not consistent until it's linked. Done under the lock, so clean up doesn't
+			//take the missing manifest for an unused folder
+			UnpackManifest.delete(unpackFolder);
+			addConsumer(key, unpackFolder);
+			UnpackManifest stored = UnpackManifest.load(contentFolder);
+			if (stored == null || !stored.getFilterId().equals(filterId) || !stored.isUnmodified(contentFolder)) {
+				//Missing, interrupted, or modified through a link
+				UnpackManifest.delete(contentFolder);
+				deleteRecursively(contentFolder.toPath());
+				stored = CompressionUtil.unzip(archive, contentFolder, null, filter, monitor);
+				stored.recordLastModified(contentFolder);
+				stored.save(contentFolder);
+			}
+			link(contentFolder, unpackFolder, stored, previous);
+			stored.recordLastModified(unpackFolder);
+			stored.save(unpackFolder);
+			return stored;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Stops sharing stored files with an unpack folder, which is about to be unpacked on its own.
+	 */
+	public static void release(File unpackFolder) {
+		if (getStoreFolder() != null) {
+			addConsumer(null, unpackFolder);
+		}
+	}
+
+	/**
+	 * Deletes the stored folders whose consumers don't use them anymore : unpack folders which were deleted,
+	 * or which are not the result of a complete extraction.
+	 */
+	public static void cleanUp() {
+		File storeFolder = getStoreFolder();
+		File[] entryFolders = storeFolder == null ? null : storeFolder.listFiles(File::isDirectory);
+		if (entryFolders == null) {
+			return;
+		}
+		synchronized (consumersLock) {
+			for (File entryFolder : entryFolders) {
+				ReentrantLock lock = locks.computeIfAbsent(entryFolder.getName(), k -> new ReentrantLock());
+				if (!lock.tryLock()) {
+					//In use
+					continue;
+				}
+				try {
+					Set<String> consumers = readConsumers(entryFolder);
+					consumers.removeIf(c -> !new File(c).isDirectory() || UnpackManifest.readFilterId(new File(c)) == null);
+					writeConsumers(entryFolder, consumers);
+				} catch (IOException ex) {
+					LOG.error("Unable to clean up " + entryFolder, ex); //$NON-NLS-1$
+				} finally {
+					lock.unlock();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Registers an unpack folder as a consumer of a stored folder, and removes it from the consumers of
+	 * the others, deleting those it was the last consumer of.
+	 *
+	 * @param key the key of the stored folder, null to only remove the unpack folder from all consumers.
+	 */
+	private static void addConsumer(String key, File unpackFolder) {
+		String consumer = unpackFolder.getAbsolutePath();
+		File[] entryFolders = getStoreFolder().listFiles(File::isDirectory);
+		synchronized (consumersLock) {
+			try {
+				if (entryFolders != null) {
+					for (File entryFolder : entryFolders) {
+						if (entryFolder.getName().equals(key)) {
+							continue;
+						}
+						Set<String> consumers = readConsumers(entryFolder);
+						if (consumers.remove(consumer)) {
+							writeConsumers(entryFolder, consumers);
+						}
+					}
+				}
+				if (key != null) {
+					File entryFolder = new File(getStoreFolder(), key);
+					Set<String> consumers = readConsumers(entryFolder);
+					if (consumers.add(consumer)) {
+						writeConsumers(entryFolder, consumers);
+					}
+				}
+			} catch (IOException ex) {
+				//Only wastes some space until the next clean up
+				LOG.error("Unable to update the consumers of shared overlays", ex); //$NON-NLS-1$
+			}
+		}
+	}
+
+	private static Set<String> readConsumers(File entryFolder) throws IOException {
+		File consumersFile = new File(entryFolder, CONSUMERS_FILE);
+		if (!consumersFile.isFile()) {
+			return new LinkedHashSet<>();
+		}
+		return new LinkedHashSet<>(Files.readAllLines(consumersFile.toPath(), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Writes the consumers of a stored folder, deleting the folder and forgetting the checksum of its archive if
+	 * there's none.
+	 */
+	private static void writeConsumers(File entryFolder, Set<String> consumers) throws IOException {
+		if (consumers.isEmpty()) {
+			UnpackManifest.delete(new File(entryFolder, CONTENT_FOLDER));
+			deleteRecursively(entryFolder.toPath());
+			String name = entryFolder.getName();
+			String checksum = name.substring(0, Math.max(0, name.indexOf('-')));
+			//Computed again if the archive is still shared with another filter
+			checksums.values().removeIf(c -> c.value.equals(checksum));
+			return;
+		}
+		Files.createDirectories(entryFolder.toPath());
+		Path tmpFile = new File(entryFolder, CONSUMERS_FILE + ".tmp").toPath(); //$NON-NLS-1$
+		Files.write(tmpFile, consumers, StandardCharsets.UTF_8);
+		Files.move(tmpFile, new File(entryFolder, CONSUMERS_FILE).toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * Links the stored files to the unpack folder, skipping those already linked.
+	 */
+	private static void link(File contentFolder, File unpackFolder, UnpackManifest stored, UnpackManifest previous)
+			throws IOException {
+		Path source = contentFolder.toPath();
+		Path target = unpackFolder.toPath();
+		List<String> changedNames = new ArrayList<>();
+		if (previous != null) {
+			changedNames.addAll(CompressionUtil.deleteRemovedFiles(previous, stored, unpackFolder));
+		}
+		List<Path> files = new ArrayList<>();
+		try (Stream<Path> paths = Files.walk(source)) {
+			paths.forEach(path -> {
+				if (Files.isDirectory(path)) {
+					//Mirror the folders, including the empty ones
+					String name = source.relativize(path).toString();
+					File folder = target.resolve(name).toFile();
+					if (!folder.isDirectory() && folder.mkdirs() && !name.isEmpty()) {
+						changedNames.add(name.replace(File.separatorChar, '/'));
+					}
+				} else {
+					files.add(path);
+				}
+			});
+		}
+		boolean canLink = true;
+		for (Path file : files) {
+			String name = source.relativize(file).toString();
+			Path link = target.resolve(name);
+			if (Files.exists(link)) {
+				if (Files.isSameFile(link, file)) {
+					continue;
+				}
+				Files.delete(link);
+			}
+			changedNames.add(name.replace(File.separatorChar, '/'));
+			boolean linked = false;
+			if (canLink) {
+				try {
+					Files.createLink(link, file);
+					linked = true;
+				} catch (UnsupportedOperationException | FileSystemException ex) {
+					//Other file store, or no hard link support
+					LOG.debug("Unable to link " + link + ", copying stored files", ex); //$NON-NLS-1$ //$NON-NLS-2$
+					canLink = false;
+				}
+			}
+			if (!linked) {
+				Files.copy(file, link, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		stored.setChangedNames(changedNames);
+	}
+
+	private static String getChecksum(File archive) throws IOException {
+		long lastModified = archive.lastModified();
+		long length = archive.length();
+		Checksum checksum = checksums.get(archive);
+		if (checksum == null || checksum.lastModified != lastModified || checksum.length != length) {
+			checksum = new Checksum(lastModified, length, sha256(archive));
+			checksums.put(archive, checksum);
+		}
+		return checksum.value;
+	}
+
+	private static String sha256(File file) throws IOException {
+		MessageDigest digest = newSha256();
+		try (InputStream in = new DigestInputStream(Files.newInputStream(file.toPath()), digest)) {
+			byte[] buffer = new byte[64 * 1024];
+			while (in.read(buffer) != -1) {
+				//digesting
+			}
+		}
+		return toHex(digest);
+	}
+
+	private static String sha256(String value) throws IOException {
+		MessageDigest digest = newSha256();
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		return toHex(digest);
+	}
+
+	private static MessageDigest newSha256() throws IOException {
+		try {
+			return MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IOException(ex);
+		}
+	}
+
+	private static String toHex(MessageDigest digest) {
+		StringBuilder hex = new StringBuilder();
+		for (byte b : digest.digest()) {
+			hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return hex.toString();
+	}
+
+	private static void deleteRecursively(Path folder) throws IOException {
+		if (!Files.exists(folder)) {
+			return;
+		}
+		try (Stream<Path> paths = Files.walk(folder)) {
+			for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+				Files.deleteIfExists(path);
+			}
+		}
+	}
+
+	private static File getStoreFolder() {
+		IPath location = OverlayPluginActivator.getWorkspacePluginPath();
+		return location == null ? null : location.append(STORE_FOLDER).toFile();
+	}
+
+	private static final class Checksum {
+
+		final long lastModified;
+
+		final long length;
+
+		final String value;
+
+		Checksum(long lastModified, long length, String value) {
+			this.lastModified = lastModified;
+			this.length = length;
+			this.value = value;
+		}
+	}
+}
@@ -0,0 +1,233 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.m2e.wtp.overlay.internal.utilities;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.m2e.wtp.overlay.internal.OverlayPluginActivator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Name, CRC, size and modification time of the files extracted from an archive to an unpack folder.
+ * <p>
+ * Manifests are stored in the plugin state location, so they're not seen as overlay resources.
+ * A manifest only exists after a successful extraction : if it's missing, the content of the
+ * unpack folder can't be trusted.
+ * </p>
+ */
+public class UnpackManifest {
+
+	private static final Logger LOG = LoggerFactory.getLogger(UnpackManifest.class);
+
+	private static final int VERSION = 3;
+
+	private static final String MANIFESTS_FOLDER = "manifests"; //$NON-NLS-1$
+
+	private final Map<String, long[]> entries;
+
+	/** Identifies the filter selecting the extracted entries, empty if all of them were extracted */
+	private final String filterId;
+
+	/** Files and folders written or deleted by the extraction producing this manifest, not saved */
+	private Collection<String> changedNames = Collections.emptyList();
+
+	public UnpackManifest(String filterId) {
+		this.entries = new HashMap<>();
+		this.filterId = filterId == null ? "" : filterId; //$NON-NLS-1$
+	}
+
+	private UnpackManifest(String filterId, int size) {
+		this.entries = new HashMap<>(size * 4 / 3 + 1);
+		this.filterId = filterId;
+	}
+
+	public String getFilterId() {
+		return filterId;
+	}
+
+	/**
+	 * Records an extracted file entry. The CRC and size are read from the central directory, the modification
+	 * time of the file is recorded by {@link #recordLastModified(File)} once the extraction completed.
+	 */
+	public void add(ZipEntry entry) {
+		entries.put(entry.getName(), new long[] {entry.getCrc(), entry.getSize(), 0L});
+	}
+
+	/**
+	 * Records the modification time of the extracted files, so later modifications of their content are detected.
+	 */
+	public void recordLastModified(File unpackFolder) {
+		for (Map.Entry<String, long[]> e : entries.entrySet()) {
+			e.getValue()[2] = new File(unpackFolder, e.getKey()).lastModified();
+		}
+	}
+
+	public Set<String> getNames() {
+		return Collections.unmodifiableSet(entries.keySet());
+	}
+
+	public boolean contains(String name) {
+		return entries.containsKey(name);
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return the paths, relative to the unpack folder, of the files and folders written or deleted by the
+	 *         extraction which produced this manifest. Empty for a loaded manifest.
+	 */
+	public Collection<String> getChangedNames() {
+		return changedNames;
+	}
+
+	void setChangedNames(Collection<String> changedNames) {
+		this.changedNames = Collections.unmodifiableCollection(changedNames);
+	}
+
+	/**
+	 * Checks if an entry was extracted with the same content, and its file was not modified or deleted since.
+	 */
+	public boolean isUnchanged(ZipEntry entry, File file) {
+		long[] previous = entries.get(entry.getName());
+		if (previous == null || entry.getCrc() == -1 || entry.getSize() == -1) {
+			return false;
+		}
+		return previous[0] == entry.getCrc() && previous[1] == entry.getSize() && file.length() == entry.getSize()
+				&& file.lastModified() == previous[2] && file.isFile();
+	}
+
+	/**
+	 * Checks that none of the extracted files was modified or deleted since the extraction, from their size and
+	 * modification time.
+	 */
+	public boolean isUnmodified(File unpackFolder) {
+		for (Map.Entry<String, long[]> e : entries.entrySet()) {
+			File file = new File(unpackFolder, e.getKey());
+			if (file.length() != e.getValue()[1] || file.lastModified() != e.getValue()[2] || !file.isFile()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Loads the manifest of an unpack folder.
+	 *
+	 * @return the manifest of the last successful extraction, or null if there's none.
+	 */
+	public static UnpackManifest load(File unpackFolder) {
+		File manifestFile = getManifestFile(unpackFolder);
+		if (manifestFile == null || !manifestFile.isFile()) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(manifestFile.toPath())))) {
+			if (in.readInt() != VERSION || !unpackFolder.getAbsolutePath().equals(in.readUTF())) {
+				return null;
+			}
+			String filterId = in.readUTF();
+			int size = in.readInt();
+			UnpackManifest manifest = new UnpackManifest(filterId, size);
+			for (int i = 0; i < size; i++) {
+				String name = in.readUTF();
+				manifest.entries.put(name, new long[] {in.readLong(), in.readLong(), in.readLong()});
+			}
+			return manifest;
+		} catch (IOException ex) {
+			LOG.error("Unable to read unpack manifest " + manifestFile, ex); //$NON-NLS-1$
+			manifestFile.delete();
+			return null;
+		}
+	}
+
+	/**
+	 * Reads the filter identifier of the manifest of an unpack folder, without loading its entries.
+	 *
+	 * @return the filter identifier, or null if there's no manifest.
+	 */
+	public static String readFilterId(File unpackFolder) {
+		File manifestFile = getManifestFile(unpackFolder);
+		if (manifestFile == null || !manifestFile.isFile()) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(manifestFile.toPath()), 1024))) {
+			if (in.readInt() != VERSION || !unpackFolder.getAbsolutePath().equals(in.readUTF())) {
+				return null;
+			}
+			return in.readUTF();
+		} catch (IOException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Saves the manifest of an unpack folder, after a successful extraction.
+	 */
+	public void save(File unpackFolder) throws IOException {
+		File manifestFile = getManifestFile(unpackFolder);
+		if (manifestFile == null) {
+			return;
+		}
+		File parent = manifestFile.getParentFile();
+		if (!parent.mkdirs() && !parent.isDirectory()) {
+			throw new IOException("Unable to create " + parent); //$NON-NLS-1$
+		}
+		File tmpFile = new File(parent, manifestFile.getName() + ".tmp"); //$NON-NLS-1$
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile.toPath())))) {
+			out.writeInt(VERSION);
+			out.writeUTF(unpackFolder.getAbsolutePath());
+			out.writeUTF(filterId);
+			out.writeInt(entries.size());
+			for (Map.Entry<String, long[]> e : entries.entrySet()) {
+				out.writeUTF(e.getKey());
+				out.writeLong(e.getValue()[0]);
+				out.writeLong(e.getValue()[1]);
+				out.writeLong(e.getValue()[2]);
+			}
+		}
+		Files.move(tmpFile.toPath(), manifestFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * Deletes the manifest of an unpack folder, before its content is modified.
+	 */
+	public static void delete(File unpackFolder) {
+		File manifestFile = getManifestFile(unpackFolder);
+		if (manifestFile != null && manifestFile.exists() && !manifestFile.delete()) {
+			LOG.warn("Unable to delete unpack manifest " + manifestFile); //$NON-NLS-1$
+		}
+	}
+
+	static File getManifestFile(File unpackFolder) {
+		IPath location = OverlayPluginActivator.getWorkspacePluginPath();
+		if (location == null) {
+			return null;
+		}
+		String path = unpackFolder.getAbsolutePath();
+		//Collisions are detected by the path stored in the manifest
+		return new File(location.append(MANIFESTS_FOLDER).toFile(), Integer.toHexString(path.hashCode()) + ".manifest"); //$NON-NLS-1$
+	}
+}
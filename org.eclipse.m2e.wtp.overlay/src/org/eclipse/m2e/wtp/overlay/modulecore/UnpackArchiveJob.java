@@ -11,18 +11,27 @@ package org.eclipse.m2e.wtp.overlay.modulecore;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.WorkspaceJob;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.m2e.wtp.overlay.internal.Messages;
 import org.eclipse.m2e.wtp.overlay.internal.OverlayPluginActivator;
+import org.eclipse.m2e.wtp.overlay.internal.utilities.ArchiveEntryFilter;
 import org.eclipse.m2e.wtp.overlay.internal.utilities.CompressionUtil;
+import org.eclipse.m2e.wtp.overlay.internal.utilities.SharedUnpackStore;
+import org.eclipse.m2e.wtp.overlay.internal.utilities.UnpackManifest;
 import org.eclipse.osgi.util.NLS;
 
 /**
@@ -39,6 +48,11 @@ public class UnpackArchiveJob extends WorkspaceJob {
 
 	private IFolder unpackFolder;
 	private File archive;
+	/** Modification time of the archive when the unpack was requested */
+	private long archiveLastModified;
+	private ArchiveEntryFilter filter;
+	/** Paths written or deleted by the last unpack, relative to the unpack folder, null if unknown */
+	private Collection<String> changedNames;
 
 	public UnpackArchiveJob(String name, File archive, IFolder unpackFolder) {
 		super(name);
@@ -46,9 +60,41 @@ public class UnpackArchiveJob extends WorkspaceJob {
 		assert archive != null && archive.exists() && archive.canRead();
 		this.unpackFolder = unpackFolder;
 		this.archive = archive;
+		this.archiveLastModified = archive.lastModified();
 		setRule(unpackFolder);
 	}
+
+	/**
+	 * Creates a job only unpacking the archive files selected by the overlay inclusion and exclusion patterns.
+	 */
+	public UnpackArchiveJob(String name, File archive, IFolder unpackFolder, Collection<String> inclusions, Collection<String> exclusions) {
+		this(name, archive, unpackFolder);
+		this.filter = new ArchiveEntryFilter(inclusions, exclusions);
+	}
 	
+	public IFolder getUnpackFolder() {
+		return unpackFolder;
+	}
+
+	public File getArchive() {
+		return archive;
+	}
+
+	/**
+	 * @return the modification time of the archive when this job was created.
+	 */
+	public long getArchiveLastModified() {
+		return archiveLastModified;
+	}
+
+	/**
+	 * @return the identifier of the inclusion and exclusion patterns selecting the unpacked files, empty if all the
+	 *         files are unpacked.
+	 */
+	public String getFilterId() {
+		return filter == null ? "" : filter.getId(); //$NON-NLS-1$
+	}
+
 	@Override
 	public boolean belongsTo(Object family) {
 		return unpackFolder.equals(family);
@@ -58,7 +104,9 @@ public class UnpackArchiveJob extends WorkspaceJob {
 	public IStatus runInWorkspace(IProgressMonitor monitor)
 			throws CoreException {
 		try {
-			if (unpackFolder.exists()) {
+			File unpackDir = unpackFolder.getLocation().toFile();
+			//Without the manifest of a complete extraction, the existing files can't be reused
+			if (unpackFolder.exists() && UnpackManifest.readFilterId(unpackDir) == null) {
 	      		//delete members as deleting unpackFolder will use scheduling rule of its parent, so an IllegalArgumentException would be thrown otherwise
 				final IResource[] members = unpackFolder.members(IContainer.INCLUDE_HIDDEN | IContainer.INCLUDE_TEAM_PRIVATE_MEMBERS);
 				for (final IResource member : members)
@@ -69,13 +117,19 @@ public class UnpackArchiveJob extends WorkspaceJob {
 					member.delete(true, monitor);
 				}
 			}
-			unpack(archive, unpackFolder.getLocation().toOSString(), monitor);
+			changedNames = null;
+			unpack(archive, unpackDir.getAbsolutePath(), monitor);
 		} catch (IOException e) {
 			return new Status(IStatus.ERROR, OverlayPluginActivator.PLUGIN_ID, NLS.bind(Messages.UnpackArchiveJob_Error_Unpacking, archive.getName()), e);
 		} catch (InterruptedException e) {
 			return new Status(IStatus.ERROR, OverlayPluginActivator.PLUGIN_ID, NLS.bind(Messages.UnpackArchiveJob_Unpacking_Interrupted, archive.getName()) , e);
 		}
 		
+		final Collection<String> changes = changedNames;
+		if (changes != null && changes.isEmpty() && unpackFolder.isSynchronized(IResource.DEPTH_INFINITE)) {
+			//Nothing written, and no change left from a previous unpack
+			return Status.OK_STATUS;
+		}
 		//will run in scheduling rule of parent of unpackfolder, so should be run in a different job
 		new WorkspaceJob(NLS.bind(Messages.UnpackArchiveJob_Refreshing, unpackFolder.getLocation().toString())) {
 
@@ -83,7 +137,11 @@ public class UnpackArchiveJob extends WorkspaceJob {
 			public IStatus runInWorkspace(final IProgressMonitor monitor) throws CoreException
 			{
 				if (!monitor.isCanceled()) {
-					unpackFolder.refreshLocal(IFolder.DEPTH_INFINITE, monitor);
+					if (changes == null || !unpackFolder.exists()) {
+						unpackFolder.refreshLocal(IFolder.DEPTH_INFINITE, monitor);
+					} else {
+						refresh(changes, monitor);
+					}
 				}
 				return Status.OK_STATUS;
 			}
@@ -92,10 +150,65 @@ public class UnpackArchiveJob extends WorkspaceJob {
 		return Status.OK_STATUS;
 	}
 
+	/**
+	 * Synchronizes the workspace with the changed files only. Each change refreshes the topmost resource
+	 * the workspace doesn't know about yet, or which was deleted, instead of re-scanning the whole folder.
+	 */
+	private void refresh(Collection<String> changes, IProgressMonitor monitor) throws CoreException {
+		SubMonitor progress = SubMonitor.convert(monitor, changes.size());
+		File unpackDir = unpackFolder.getLocation().toFile();
+		Set<IPath> refreshed = new HashSet<>();
+		for (String name : changes) {
+			if (progress.isCanceled()) {
+				return;
+			}
+			SubMonitor changeProgress = progress.split(1);
+			IPath path = new Path(name);
+			for (int i = 1; i <= path.segmentCount(); i++) {
+				IPath prefix = path.uptoSegment(i);
+				if (refreshed.contains(prefix)) {
+					//Refreshed with a parent
+					break;
+				}
+				IResource member = unpackFolder.findMember(prefix);
+				File file = new File(unpackDir, prefix.toOSString());
+				if (member == null && !file.exists()) {
+					//Created, then deleted
+					break;
+				}
+				if (member == null || !file.exists() || i == path.segmentCount()) {
+					IResource resource = member != null ? member
+							: file.isDirectory() ? unpackFolder.getFolder(prefix) : unpackFolder.getFile(prefix);
+					resource.refreshLocal(IResource.DEPTH_INFINITE, changeProgress);
+					refreshed.add(prefix);
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Unpacks the archive. If the folder contains a previous extraction of the archive, only the changed
+	 * files are written, and the files removed from the archive are deleted. Overriding implementations
+	 * don't report the changed files, so the whole folder is refreshed after them.
+	 */
 	protected void unpack(File archive, String unpackFolderPath, IProgressMonitor monitor) throws IOException, CoreException,
 			InterruptedException {
 		File unpackFolder = new File(unpackFolderPath);
-		CompressionUtil.unzip(archive, unpackFolder, monitor);
+		UnpackManifest previous = UnpackManifest.load(unpackFolder);
+		UnpackManifest manifest;
+		if (SharedUnpackStore.isEnabled()) {
+			//The manifest is replaced under the lock of the store
+			manifest = SharedUnpackStore.unpack(archive, unpackFolder, previous, filter, monitor);
+		} else {
+			//The folder content is not consistent until the extraction completes
+			UnpackManifest.delete(unpackFolder);
+			SharedUnpackStore.release(unpackFolder);
+			manifest = CompressionUtil.unzip(archive, unpackFolder, previous, filter, monitor);
+			manifest.recordLastModified(unpackFolder);
+			manifest.save(unpackFolder);
+		}
 		unpackFolder.setLastModified(archive.lastModified());
+		changedNames = manifest.getChangedNames();
 	}
 }
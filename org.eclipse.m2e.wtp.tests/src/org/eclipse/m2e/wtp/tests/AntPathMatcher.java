@@ -14,8 +14,9 @@
  * limitations under the License.
  */
 
-package org.eclipse.m2e.wtp.internal;
+package org.eclipse.m2e.wtp.tests;
 
+import org.eclipse.m2e.wtp.internal.StringUtils;
 
 /**
  * PathMatcher implementation for Ant-style path patterns.
@@ -47,6 +48,8 @@ package org.eclipse.m2e.wtp.internal;
  * <code>org/servlet/bla.jsp</code></li>
  * </ul>
  *
+ * <p>This is the matcher CompiledAntPattern replaced, kept as the reference its matching is tested against.
+ *
  * @author Alef Arendsen
  * @author Juergen Hoeller
  * @author Rob Harrop
@@ -69,18 +72,10 @@ public class AntPathMatcher  {
 	}
 
 
-	public boolean isPattern(String path) {
-		return (path.indexOf('*') != -1 || path.indexOf('?') != -1);
-	}
-
 	public boolean match(String pattern, String path) {
 		return doMatch(pattern, path, true);
 	}
 
-	public boolean matchStart(String pattern, String path) {
-		return doMatch(pattern, path, false);
-	}
-
 
 	/**
 	 * Actually match the given <code>path</code> against the given <code>pattern</code>.
@@ -362,51 +357,4 @@ public class AntPathMatcher  {
 
 		return true;
 	}
-
-	/**
-	 * Given a pattern and a full path, determine the pattern-mapped part.
-	 * <p>For example:
-	 * <ul>
-	 * <li>'<code>/docs/cvs/commit.html</code>' and '<code>/docs/cvs/commit.html</code> -> ''</li>
-	 * <li>'<code>/docs/*</code>' and '<code>/docs/cvs/commit</code> -> '<code>cvs/commit</code>'</li>
-	 * <li>'<code>/docs/cvs/*.html</code>' and '<code>/docs/cvs/commit.html</code> -> '<code>commit.html</code>'</li>
-	 * <li>'<code>/docs/**</code>' and '<code>/docs/cvs/commit</code> -> '<code>cvs/commit</code>'</li>
-	 * <li>'<code>/docs/**\/*.html</code>' and '<code>/docs/cvs/commit.html</code> -> '<code>cvs/commit.html</code>'</li>
-	 * <li>'<code>/*.html</code>' and '<code>/docs/cvs/commit.html</code> -> '<code>docs/cvs/commit.html</code>'</li>
-	 * <li>'<code>*.html</code>' and '<code>/docs/cvs/commit.html</code> -> '<code>/docs/cvs/commit.html</code>'</li>
-	 * <li>'<code>*</code>' and '<code>/docs/cvs/commit.html</code> -> '<code>/docs/cvs/commit.html</code>'</li>
-	 * </ul>
-	 * <p>Assumes that {@link #match} returns <code>true</code> for '<code>pattern</code>'
-	 * and '<code>path</code>', but does <strong>not</strong> enforce this.
-	 */
-	public String extractPathWithinPattern(String pattern, String path) {
-		String[] patternParts = StringUtils.tokenizeToStringArray(pattern, this.pathSeparator);
-		String[] pathParts = StringUtils.tokenizeToStringArray(path, this.pathSeparator);
-
-		StringBuilder buffer = new StringBuilder();
-
-		// Add any path parts that have a wildcarded pattern part.
-		int puts = 0;
-		for (int i = 0; i < patternParts.length; i++) {
-			String patternPart = patternParts[i];
-			if ((patternPart.indexOf('*') > -1 || patternPart.indexOf('?') > -1) && pathParts.length >= i + 1) {
-				if (puts > 0 || (i == 0 && !pattern.startsWith(this.pathSeparator))) {
-					buffer.append(this.pathSeparator);
-				}
-				buffer.append(pathParts[i]);
-				puts++;
-			}
-		}
-
-		// Append any trailing path parts.
-		for (int i = patternParts.length; i < pathParts.length; i++) {
-			if (puts > 0 || i > 0) {
-				buffer.append(this.pathSeparator);
-			}
-			buffer.append(pathParts[i]);
-		}
-
-		return buffer.toString();
-	}
-
 }
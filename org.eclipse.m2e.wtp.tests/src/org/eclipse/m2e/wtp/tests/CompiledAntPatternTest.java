@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.m2e.wtp.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.eclipse.m2e.wtp.internal.CompiledAntPattern;
+import org.junit.jupiter.api.Test;
+
+public class CompiledAntPatternTest {
+
+	private static final String[] PATTERNS = { "", "/", "*", "**", "/*", "/**", "*/", "**/", "a", "/a", "a/", "/a/",
+			"a/b", "a/*", "a/**", "**/a", "*/a", "a/**/b", "a/*/b", "**/a/**", "a/**/**/b", "a/**/b/**/c",
+			"**/*.jsp", "com/t?st.jsp", "com/**/test.jsp", "org/**/servlet/bla.jsp", "WEB-INF/lib/*.jar",
+			"**/*.class", "*a*", "a*b", "*a*b*", "a?", "??", "a**b", "**/b/*", "a/ b ", "/**/a/*/" };
+
+	private static final String[] PATHS = { "", "/", "//", "a", "/a", "a/", "/a/", "a/b", "/a/b", "a/b/", "a//b",
+			"a/x/b", "a/x/y/b", "a/b/c", "a/x/b/y/c", "b/a", "x/a/y", "ab", "axb", "aab", "bab", "a b", " a / b ",
+			"com/test.jsp", "com/tast.jsp", "com/a/b/test.jsp", "com/test.jspx", "org/servlet/bla.jsp",
+			"org/springframework/testing/servlet/bla.jsp", "WEB-INF/lib/foo.jar", "WEB-INF/lib/x/foo.jar",
+			"x/y/Foo.class", "Foo.class", "b/x", "a/b/x/" };
+
+	@Test
+	public void testSameMatchesAsAntPathMatcher() {
+		AntPathMatcher matcher = new AntPathMatcher();
+		for (String pattern : PATTERNS) {
+			CompiledAntPattern compiled = CompiledAntPattern.compile(pattern);
+			for (String path : PATHS) {
+				assertEquals(matcher.match(pattern, path), compiled.matches(path),
+						"'" + pattern + "' matching '" + path + "'");
+			}
+		}
+	}
+
+	@Test
+	public void testSameMatchesWithSeveralSeparators() {
+		AntPathMatcher matcher = new AntPathMatcher();
+		matcher.setPathSeparator("/\\");
+		for (String pattern : PATTERNS) {
+			CompiledAntPattern compiled = CompiledAntPattern.compile(pattern, "/\\");
+			for (String path : PATHS) {
+				String windowsPath = path.replace('/', '\\');
+				assertEquals(matcher.match(pattern, windowsPath), compiled.matches(windowsPath),
+						"'" + pattern + "' matching '" + windowsPath + "'");
+			}
+		}
+	}
+
+	@Test
+	public void testSameMatchesOnRandomPaths() {
+		AntPathMatcher matcher = new AntPathMatcher();
+		Random random = new Random(42);
+		for (int i = 0; i < 2000; i++) {
+			String pattern = randomPath(random, "ab*?/", 8);
+			CompiledAntPattern compiled = CompiledAntPattern.compile(pattern);
+			for (int j = 0; j < 20; j++) {
+				String path = randomPath(random, "abc/", 10);
+				assertEquals(matcher.match(pattern, path), compiled.matches(path),
+						"'" + pattern + "' matching '" + path + "'");
+			}
+		}
+	}
+
+	@Test
+	public void testMatches() {
+		assertTrue(CompiledAntPattern.compile("com/**/test.jsp").matches("com/test.jsp"));
+		assertTrue(CompiledAntPattern.compile("com/**/test.jsp").matches("com/a/b/test.jsp"));
+		assertTrue(CompiledAntPattern.compile("**/*.jsp").matches("a/b.jsp"));
+		assertFalse(CompiledAntPattern.compile("com/*.jsp").matches("com/a/b.jsp"));
+		assertFalse(CompiledAntPattern.compile("/a").matches("a"));
+	}
+
+	private static String randomPath(Random random, String chars, int maxLength) {
+		int length = random.nextInt(maxLength + 1);
+		StringBuilder sb = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			sb.append(chars.charAt(random.nextInt(chars.length())));
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.m2e.wtp.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.m2e.wtp.overlay.internal.modulecore.PathTrie;
+import org.junit.jupiter.api.Test;
+
+public class PathTrieTest {
+
+	private static final String[] NAMES = { "a", "b", "ab", "ba", "WEB-INF", "lib", "x y", "\u00e9t\u00e9", "\u4e2d" };
+
+	@Test
+	public void testSameAcceptsAsScanResultSets() {
+		String[] incFiles = { "index.jsp", "WEB-INF/web.xml", "WEB-INF/lib/a.jar", "css/site.css" };
+		String[] excFiles = { "WEB-INF/lib/a.jar", "META-INF/MANIFEST.MF" };
+		String[] incDirs = { "WEB-INF", "WEB-INF/lib", "css/print" };
+		String[] excDirs = { "META-INF", "css/print" };
+		List<String> queries = new ArrayList<>(Arrays.asList("WEB-INF/classes", "css", "index.jsp/x", "a", "lib"));
+		for (String[] paths : List.of(incFiles, excFiles, incDirs, excDirs)) {
+			queries.addAll(Arrays.asList(paths));
+		}
+		assertSameAccepts(incFiles, excFiles, incDirs, excDirs, queries);
+	}
+
+	@Test
+	public void testSameAcceptsOnRandomPaths() {
+		Random random = new Random(42);
+		for (int i = 0; i < 200; i++) {
+			String[] incFiles = randomPaths(random);
+			String[] excFiles = randomPaths(random);
+			String[] incDirs = randomPaths(random);
+			String[] excDirs = randomPaths(random);
+			List<String> queries = new ArrayList<>(Arrays.asList(randomPaths(random)));
+			for (String[] paths : List.of(incFiles, excFiles, incDirs, excDirs)) {
+				queries.addAll(Arrays.asList(paths));
+			}
+			assertSameAccepts(incFiles, excFiles, incDirs, excDirs, queries);
+		}
+	}
+
+	@Test
+	public void testSeparatorsAndOffsets() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		out.write(0x7F);
+		new PathTrie.Builder().add(new String[] { "a/b/c.txt" }, PathTrie.INCLUDED_FILE).write(out);
+		out.write(0x7F);
+		byte[] bytes = out.toByteArray();
+		PathTrie trie = new PathTrie(ByteBuffer.wrap(bytes), 1);
+
+		assertEquals(bytes.length - 1, trie.getEnd());
+		assertEquals(PathTrie.INCLUDED_FILE, trie.getFlags("a/b/c.txt", 0));
+		assertEquals(PathTrie.INCLUDED_FILE, trie.getFlags("a\\b\\c.txt", 0));
+		assertEquals(PathTrie.INCLUDED_FILE, trie.getFlags("/base/a/b/c.txt", "/base".length()));
+		assertEquals(PathTrie.INCLUDED_FOLDER, trie.getFlags("a/b", 0));
+		assertEquals(0, trie.getFlags("a/b/c", 0));
+		assertEquals(0, trie.getFlags("a/b/c.txt/d", 0));
+		assertEquals(0, trie.getFlags("", 0));
+	}
+
+	private static void assertSameAccepts(String[] incFiles, String[] excFiles, String[] incDirs, String[] excDirs,
+			List<String> queries) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new PathTrie.Builder()
+				.add(incFiles, PathTrie.INCLUDED_FILE)
+				.add(excFiles, PathTrie.EXCLUDED_FILE)
+				.add(incDirs, PathTrie.INCLUDED_FOLDER)
+				.add(excDirs, PathTrie.EXCLUDED_FOLDER)
+				.write(out);
+		PathTrie trie = new PathTrie(ByteBuffer.wrap(out.toByteArray()), 0);
+		ScanResultSets sets = new ScanResultSets(incFiles, excFiles, incDirs, excDirs);
+
+		for (String query : queries) {
+			int flags = trie.getFlags(query, 0);
+			boolean acceptsFile = (flags & (PathTrie.INCLUDED_FILE | PathTrie.EXCLUDED_FILE)) == PathTrie.INCLUDED_FILE;
+			boolean acceptsFolder = (flags & (PathTrie.INCLUDED_FOLDER
+					| PathTrie.EXCLUDED_FOLDER)) == PathTrie.INCLUDED_FOLDER;
+			assertEquals(sets.accepts(query, true), acceptsFile, "file " + query);
+			assertEquals(sets.accepts(query, false), acceptsFolder, "folder " + query);
+		}
+	}
+
+	private static String[] randomPaths(Random random) {
+		String[] paths = new String[random.nextInt(6)];
+		for (int i = 0; i < paths.length; i++) {
+			int segments = 1 + random.nextInt(4);
+			StringBuilder sb = new StringBuilder();
+			for (int j = 0; j < segments; j++) {
+				if (j > 0) {
+					sb.append('/');
+				}
+				sb.append(NAMES[random.nextInt(NAMES.length)]);
+			}
+			paths[i] = sb.toString();
+		}
+		return paths;
+	}
+
+	/**
+	 * The included and excluded paths of a scan, held in sets like scan results were before being encoded as
+	 * a {@link PathTrie}.
+	 */
+	private static final class ScanResultSets {
+
+		private final Set<String> includedFiles;
+
+		private final Set<String> excludedFiles;
+
+		private final Set<String> includedFolders;
+
+		private final Set<String> excludedFolders;
+
+		ScanResultSets(String[] incFiles, String[] excFiles, String[] incDirs, String[] excDirs) {
+			includedFiles = new HashSet<>(Arrays.asList(incFiles));
+			excludedFiles = new HashSet<>(Arrays.asList(excFiles));
+			includedFolders = new HashSet<>(Arrays.asList(incDirs));
+			excludedFolders = new HashSet<>(Arrays.asList(excDirs));
+			// The parent folders of included files and folders are included
+			for (String path : incFiles) {
+				addParentFolders(path);
+			}
+			for (String path : incDirs) {
+				addParentFolders(path);
+			}
+		}
+
+		private void addParentFolders(String path) {
+			for (int i = path.lastIndexOf('/'); i > 0; i = path.lastIndexOf('/', i - 1)) {
+				includedFolders.add(path.substring(0, i));
+			}
+		}
+
+		boolean accepts(String name, boolean isFile) {
+			if (isFile) {
+				return includedFiles.contains(name) && !excludedFiles.contains(name);
+			}
+			return includedFolders.contains(name) && !excludedFolders.contains(name);
+		}
+	}
+}
@@ -0,0 +1,233 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.m2e.wtp.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import org.eclipse.core.runtime.Path;
+import org.eclipse.m2e.wtp.internal.utilities.ReferenceDiff;
+import org.eclipse.wst.common.componentcore.ComponentCore;
+import org.eclipse.wst.common.componentcore.resources.IVirtualComponent;
+import org.eclipse.wst.common.componentcore.resources.IVirtualReference;
+import org.junit.jupiter.api.Test;
+
+public class ReferenceDiffTest {
+
+	private final Component war = new Component("war");
+
+	private final IVirtualComponent a = new Component("a").proxy;
+
+	private final IVirtualComponent b = new Component("b").proxy;
+
+	private final IVirtualComponent c = new Component("c").proxy;
+
+	@Test
+	public void testNoChanges() {
+		IVirtualReference[] existing = { ref(a, "a.jar"), ref(b, "b.jar") };
+		IVirtualReference[] wanted = { ref(a, "a.jar"), ref(b, "b.jar") };
+
+		ReferenceDiff diff = ReferenceDiff.compute(existing, wanted);
+
+		assertFalse(diff.hasChanges());
+		assertFalse(diff.isReordered());
+		assertFalse(diff.apply(war.proxy, null, false));
+		assertNull(war.added);
+		assertNull(war.set);
+	}
+
+	@Test
+	public void testReorderedIsNotAChange() {
+		IVirtualReference[] existing = { ref(a, "a.jar"), ref(b, "b.jar") };
+		IVirtualReference[] wanted = { ref(b, "b.jar"), ref(a, "a.jar") };
+
+		ReferenceDiff diff = ReferenceDiff.compute(existing, wanted);
+
+		assertTrue(diff.isReordered());
+		assertFalse(diff.hasChanges());
+		assertFalse(diff.apply(war.proxy, null, false));
+	}
+
+	@Test
+	public void testAdditionsAreAppended() {
+		IVirtualReference[] existing = { ref(a, "a.jar") };
+		IVirtualReference newRef = ref(b, "b.jar");
+		IVirtualReference[] wanted = { ref(a, "a.jar"), newRef };
+
+		ReferenceDiff diff = ReferenceDiff.compute(existing, wanted);
+
+		assertEquals(List.of(newRef), diff.getAdded());
+		assertTrue(diff.getRemoved().isEmpty());
+		assertTrue(diff.apply(war.proxy, null, false));
+		assertEquals(List.of(newRef), List.of(war.added));
+		assertNull(war.set);
+	}
+
+	@Test
+	public void testRemovalsRewriteTheReferences() {
+		IVirtualReference kept = ref(a, "a.jar");
+		IVirtualReference removed = ref(b, "b.jar");
+		IVirtualReference[] wanted = { ref(a, "a.jar") };
+
+		ReferenceDiff diff = ReferenceDiff.compute(new IVirtualReference[] { kept, removed }, wanted);
+
+		assertEquals(List.of(removed), diff.getRemoved());
+		assertTrue(diff.apply(war.proxy, null, false));
+		assertNull(war.added);
+		assertEquals(List.of(kept), List.of(war.set));
+	}
+
+	@Test
+	public void testDuplicatesAreRemoved() {
+		IVirtualReference first = ref(a, "a.jar");
+		IVirtualReference duplicate = ref(a, "a.jar");
+
+		ReferenceDiff diff = ReferenceDiff.compute(new IVirtualReference[] { first, duplicate },
+				new IVirtualReference[] { ref(a, "a.jar") });
+
+		assertEquals(List.of(duplicate), diff.getRemoved());
+		assertTrue(diff.apply(war.proxy, null, false));
+		assertEquals(List.of(first), List.of(war.set));
+	}
+
+	@Test
+	public void testArchiveNameChangeReplacesTheReference() {
+		IVirtualReference renamed = ref(a, "a-1.0.jar");
+
+		ReferenceDiff diff = ReferenceDiff.compute(new IVirtualReference[] { ref(a, "a.jar") },
+				new IVirtualReference[] { renamed });
+
+		assertEquals(List.of(renamed), diff.getAdded());
+		assertEquals(1, diff.getRemoved().size());
+	}
+
+	@Test
+	public void testDependencyTypeChange() {
+		IVirtualReference existing = ref(a, "a.jar");
+		IVirtualReference consumed = ref(a, "a.jar");
+		consumed.setDependencyType(IVirtualReference.DEPENDENCY_TYPE_CONSUMES);
+
+		ReferenceDiff diff = ReferenceDiff.compute(new IVirtualReference[] { existing },
+				new IVirtualReference[] { consumed });
+
+		assertEquals(List.of(consumed), diff.getModified());
+		assertTrue(diff.getAdded().isEmpty());
+		assertTrue(diff.getRemoved().isEmpty());
+		assertTrue(diff.apply(war.proxy, null, false));
+		assertEquals(List.of(consumed), List.of(war.set));
+	}
+
+	@Test
+	public void testOtherReferencesAreKept() {
+		IVirtualReference other = ref(c, null);
+		IVirtualReference existing = ref(a, "a.jar");
+		IVirtualReference newRef = ref(b, "b.jar");
+
+		ReferenceDiff diff = ReferenceDiff.compute(new IVirtualReference[] { existing },
+				new IVirtualReference[] { ref(a, "a.jar"), newRef });
+
+		// Appending would put the new reference after the other one
+		assertTrue(diff.apply(war.proxy, new IVirtualReference[] { other }, false));
+		assertNull(war.added);
+		assertEquals(List.of(existing, newRef, other), List.of(war.set));
+	}
+
+	@Test
+	public void testOrderedReorderIsAChange() {
+		IVirtualReference[] existing = { ref(a, null), ref(b, null) };
+		IVirtualReference first = ref(b, null);
+		IVirtualReference second = ref(a, null);
+
+		ReferenceDiff diff = ReferenceDiff.computeOrdered(existing, new IVirtualReference[] { first, second });
+
+		assertTrue(diff.isReordered());
+		assertTrue(diff.hasChanges());
+		assertTrue(diff.apply(war.proxy, null, false));
+		assertEquals(List.of(first, second), List.of(war.set));
+	}
+
+	@Test
+	public void testOrderedInsertionRewritesTheReferences() {
+		IVirtualReference[] existing = { ref(a, null), ref(b, null) };
+		IVirtualReference[] wanted = { ref(a, null), ref(c, null), ref(b, null) };
+
+		ReferenceDiff diff = ReferenceDiff.computeOrdered(existing, wanted);
+
+		assertFalse(diff.isReordered());
+		assertEquals(List.of(wanted[1]), diff.getAdded());
+		assertTrue(diff.apply(war.proxy, null, false));
+		assertNull(war.added);
+		assertEquals(List.of(wanted), List.of(war.set));
+	}
+
+	@Test
+	public void testOrderedIgnoresArchiveNames() {
+		IVirtualReference existing = ref(a, "a.war");
+
+		ReferenceDiff diff = ReferenceDiff.computeOrdered(new IVirtualReference[] { existing },
+				new IVirtualReference[] { ref(a, null) });
+
+		assertFalse(diff.hasChanges());
+	}
+
+	private IVirtualReference ref(IVirtualComponent component, String archiveName) {
+		IVirtualReference ref = ComponentCore.createReference(war.proxy, component, new Path("/WEB-INF/lib"));
+		ref.setArchiveName(archiveName);
+		return ref;
+	}
+
+	/**
+	 * A virtual component recording the references set on it.
+	 */
+	private static final class Component implements InvocationHandler {
+
+		private final String name;
+
+		private final IVirtualComponent proxy;
+
+		private IVirtualReference[] added;
+
+		private IVirtualReference[] set;
+
+		Component(String name) {
+			this.name = name;
+			proxy = (IVirtualComponent) Proxy.newProxyInstance(IVirtualComponent.class.getClassLoader(),
+					new Class<?>[] { IVirtualComponent.class }, this);
+		}
+
+		@Override
+		public Object invoke(Object p, Method method, Object[] args) {
+			switch (method.getName()) {
+			case "addReferences":
+				added = (IVirtualReference[]) args[0];
+				return null;
+			case "setReferences":
+				set = (IVirtualReference[]) args[0];
+				return null;
+			case "equals":
+				return p == args[0];
+			case "hashCode":
+				return System.identityHashCode(p);
+			case "getName":
+			case "toString":
+				return name;
+			default:
+				return method.getReturnType() == boolean.class ? Boolean.FALSE : null;
+			}
+		}
+	}
+}
@@ -13,6 +13,8 @@ package org.eclipse.m2e.wtp;
 import static org.eclipse.m2e.wtp.internal.StringUtils.joinAsString;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Properties;
@@ -41,9 +43,6 @@ import org.eclipse.m2e.core.project.IMavenProjectRegistry;
 import org.eclipse.m2e.jdt.IClasspathDescriptor;
 import org.eclipse.m2e.wtp.internal.Messages;
 import org.eclipse.osgi.util.NLS;
-import org.eclipse.wst.common.componentcore.ComponentCore;
-import org.eclipse.wst.common.componentcore.internal.StructureEdit;
-import org.eclipse.wst.common.componentcore.internal.WorkbenchComponent;
 import org.eclipse.wst.common.componentcore.resources.IVirtualComponent;
 import org.eclipse.wst.common.componentcore.resources.IVirtualReference;
 import org.eclipse.wst.common.project.facet.core.IFacetedProject;
@@ -152,42 +151,35 @@ public void configureProject(IProject project, MavenProject mavenProject, IProgr
   }
 
   /**
+   * Configures a non Java EE workspace dependency as a WTP utility project, unless it's already been
+   * configured since its last pom change.
    * @param dependencyMavenProjectFacade
    * @param monitor
    * @return
    * @throws CoreException
    */
   protected IProject preConfigureDependencyProject(IMavenProjectFacade dependencyMavenProjectFacade, IProgressMonitor monitor) throws CoreException {
-    IProject dependency = dependencyMavenProjectFacade.getProject();
-    String depPackaging = dependencyMavenProjectFacade.getPackaging();
-    //jee dependency has not been configured yet - i.e. it has no JEE facet-
-    if(!JEEPackaging.isJEEPackaging(depPackaging)) {
-      // XXX Probably should create a UtilProjectConfiguratorDelegate
-      configureWtpUtil(dependencyMavenProjectFacade, monitor);
-    }
-    return dependency;
+    MavenWtpPlugin.getDefault().getDependencyConfigurationTracker()
+        .preconfigure(Collections.singletonList(dependencyMavenProjectFacade), monitor);
+    return dependencyMavenProjectFacade.getProject();
+  }
+
+  /**
+   * Configures non Java EE workspace dependencies as WTP utility projects, in the given order.
+   * Dependencies already configured since their last pom change are skipped.
+   */
+  protected void preConfigureDependencyProjects(Collection<IMavenProjectFacade> dependencyMavenProjectFacades, IProgressMonitor monitor) throws CoreException {
+    MavenWtpPlugin.getDefault().getDependencyConfigurationTracker().preconfigure(dependencyMavenProjectFacades, monitor);
   }
 
-  @SuppressWarnings("restriction")
+  /**
+   * @deprecated use {@link ComponentEditSession#setDeployedName(String)}, batched with the other component edits.
+   */
+  @Deprecated
   protected void configureDeployedName(IProject project, String deployedFileName) {
-    IVirtualComponent projectComponent = ComponentCore.createComponent(project);
-    if(projectComponent != null && !deployedFileName.equals(projectComponent.getDeployedName())){//MNGECLIPSE-2331 : Seems projectComponent.getDeployedName() can be null 
-      StructureEdit moduleCore = null;
-      try {
-        moduleCore = StructureEdit.getStructureEditForWrite(project);
-        if (moduleCore != null){
-          WorkbenchComponent component = moduleCore.getComponent();
-          if (component != null) {
-            component.setName(deployedFileName);
-            moduleCore.saveIfNecessary(null);
-          }
-        }
-      } finally {
-        if (moduleCore != null) {
-          moduleCore.dispose();
-        }
-      }
-    }  
+    try (ComponentEditSession session = ComponentEditSession.open(project, null)) {
+      session.setDeployedName(deployedFileName);
+    }
   }
 
   /**
@@ -199,13 +191,26 @@ public void configureProject(IProject project, MavenProject mavenProject, IProgr
    * @throws CoreException
    */
   protected void linkFileFirst(IProject project, String sourceFile, String targetRuntimePath, IProgressMonitor monitor) throws CoreException {
-      IPath runtimePath = new Path(targetRuntimePath);
-      //We first delete any existing links
-      WTPProjectsUtil.deleteLinks(project, runtimePath, monitor);
-      if (sourceFile != null) {
-        //Create the new link
-        WTPProjectsUtil.insertLinkFirst(project, new Path(sourceFile), new Path(targetRuntimePath), monitor);
-      }
+    try (ComponentEditSession session = ComponentEditSession.open(project, monitor)) {
+      linkFileFirst(session, sourceFile, targetRuntimePath);
+    }
+  }
+
+  /**
+   * Link a project's file to a specific deployment destination, within an existing edit session. 
+   * Existing links will be deleted beforehand. 
+   * @param session the component edit session of the project
+   * @param sourceFile the existing file to deploy
+   * @param targetRuntimePath the target runtime/deployment location of the file
+   */
+  protected void linkFileFirst(ComponentEditSession session, String sourceFile, String targetRuntimePath) {
+    IPath runtimePath = new Path(targetRuntimePath);
+    //We first delete any existing links
+    session.deleteLinks(runtimePath, null);
+    if (sourceFile != null) {
+      //Create the new link
+      session.insertLinkFirst(new Path(sourceFile), runtimePath);
+    }
   }
 
   @Deprecated
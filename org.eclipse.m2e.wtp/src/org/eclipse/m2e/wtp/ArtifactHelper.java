@@ -109,6 +109,10 @@ public class ArtifactHelper {
 	  }
   }
   
+  /**
+   * Looks up an artifact by key, scanning the whole collection. When several lookups are made against 
+   * the same artifacts, use an {@link ArtifactIndex} instead.
+   */
   public static Artifact getArtifact(Collection<Artifact> artifacts, ArtifactKey key) {
     if (artifacts == null || key == null || artifacts.isEmpty()) {
       return null;
@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.m2e.wtp;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.maven.artifact.Artifact;
+import org.eclipse.m2e.core.embedder.ArtifactKey;
+
+/**
+ * Hash based index of Maven artifacts, keyed by {@link ArtifactKey}, classifier included. 
+ * Meant to be built once per configuration pass, instead of repeatedly scanning 
+ * the artifact collection with {@link ArtifactHelper#getArtifact(Collection, ArtifactKey)}.
+ *
+ * @provisional This class has been added as part of a work in progress. 
+ * It is not guaranteed to work or remain the same in future releases. 
+ * For more information contact <a href="mailto:m2e-wtp-dev@eclipse.org">m2e-wtp-dev@eclipse.org</a>.
+ */
+public class ArtifactIndex {
+
+  private final Map<ArtifactKey, Artifact> artifactsByKey;
+
+  /**
+   * Indexes the given artifacts. Should several artifacts map to the same key, 
+   * the first one wins, as with {@link ArtifactHelper#getArtifact(Collection, ArtifactKey)}. 
+   * @param artifacts the artifacts to index, can be null.
+   */
+  public ArtifactIndex(Collection<Artifact> artifacts) {
+    if (artifacts == null || artifacts.isEmpty()) {
+      artifactsByKey = Collections.emptyMap();
+      return;
+    }
+    artifactsByKey = new HashMap<>(artifacts.size() * 4 / 3 + 1);
+    for (Artifact a : artifacts) {
+      artifactsByKey.putIfAbsent(ArtifactHelper.toArtifactKey(a), a);
+    }
+  }
+
+  /**
+   * @return the artifact matching the key, or null if there is none.
+   */
+  public Artifact getArtifact(ArtifactKey key) {
+    if (key == null) {
+      return null;
+    }
+    return artifactsByKey.get(key);
+  }
+
+  /**
+   * @return the artifact matching the given artifact's coordinates, or null if there is none.
+   */
+  public Artifact getArtifact(Artifact artifact) {
+    if (artifact == null) {
+      return null;
+    }
+    return artifactsByKey.get(ArtifactHelper.toArtifactKey(artifact));
+  }
+}
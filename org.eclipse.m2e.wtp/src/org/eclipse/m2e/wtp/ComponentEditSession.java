@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.m2e.wtp;
+
+import java.util.List;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.wst.common.componentcore.internal.ComponentResource;
+import org.eclipse.wst.common.componentcore.internal.StructureEdit;
+import org.eclipse.wst.common.componentcore.internal.WorkbenchComponent;
+import org.eclipse.wst.common.componentcore.internal.impl.ResourceTreeNode;
+import org.eclipse.wst.common.componentcore.internal.impl.ResourceTreeRoot;
+
+/**
+ * Batches edits of a project's .settings/org.eclipse.wst.common.component file.
+ * <p>
+ * A session opens a single write model on the project's component. All link operations
+ * go through that model, and the file is saved once, when the session is closed.
+ * Virtual component APIs used while the session is open share the same underlying model,
+ * so their changes are persisted by the session as well.
+ * </p>
+ * <pre>
+ * try (ComponentEditSession session = ComponentEditSession.open(project, monitor)) {
+ *   session.deleteLinks(runtimePath, null);
+ *   session.insertLinkFirst(source, runtimePath);
+ * }
+ * </pre>
+ *
+ * @provisional This class has been added as part of a work in progress.
+ * It is not guaranteed to work or remain the same in future releases.
+ * For more information contact <a href="mailto:m2e-wtp-dev@eclipse.org">m2e-wtp-dev@eclipse.org</a>.
+ *
+ * @since 1.7
+ */
+@SuppressWarnings("restriction")
+public class ComponentEditSession implements AutoCloseable {
+
+  private final IProject project;
+
+  private final IProgressMonitor monitor;
+
+  private StructureEdit moduleCore;
+
+  private WorkbenchComponent component;
+
+  private ComponentEditSession(IProject project, IProgressMonitor monitor) {
+    this.project = project;
+    this.monitor = monitor;
+    this.moduleCore = StructureEdit.getStructureEditForWrite(project);
+    if (moduleCore != null) {
+      component = moduleCore.getComponent();
+    }
+  }
+
+  /**
+   * Opens a new edit session on the given project's component.
+   *
+   * @param project - the project to modify
+   * @param monitor - an eclipse monitor, used when saving the component
+   * @return a new edit session, never null. If the project has no component, all operations are no-ops.
+   */
+  public static ComponentEditSession open(IProject project, IProgressMonitor monitor) {
+    return new ComponentEditSession(project, monitor);
+  }
+
+  /**
+   * Checks if the component has a link between a project relative location and a runtime path.
+   */
+  public boolean hasLink(IPath runtimePath, IPath aProjectRelativeLocation) {
+    if (component == null) {
+      return false;
+    }
+    IPath sourcePath = aProjectRelativeLocation.makeAbsolute();
+    ResourceTreeRoot root = ResourceTreeRoot.getDeployResourceTreeRoot(component);
+    for (ComponentResource resource : root.findModuleResources(runtimePath, ResourceTreeNode.CREATE_NONE)) {
+      if (sourcePath.equals(resource.getSourcePath())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Delete component resources having a given runtimePath
+   * @param runtimePath - the component resource runtime path (i.e. deploy path)
+   * @param sourcePathToKeep - the list of source paths to keep, can be null
+   */
+  public void deleteLinks(IPath runtimePath, List<IPath> sourcePathToKeep) {
+    if (component == null) {
+      return;
+    }
+    ResourceTreeRoot root = ResourceTreeRoot.getDeployResourceTreeRoot(component);
+    ComponentResource[] resources = root.findModuleResources(runtimePath, 0);
+    for (ComponentResource link : resources) {
+      if (runtimePath.equals(link.getRuntimePath()) &&
+         (sourcePathToKeep == null || !sourcePathToKeep.contains(link.getSourcePath()))) {
+        component.getResources().remove(link);
+      }
+    }
+  }
+
+  /**
+   * Inserts a link before the one pointing to referenceSource, or moves it there if it already exists
+   * after it. If referenceSource is not linked, the new link is appended.
+   */
+  public void insertLinkBefore(IPath newSource, IPath referenceSource, IPath runtimePath) {
+    if (component == null) {
+      return;
+    }
+    int i = 0;
+    int refPosition = -1;
+    int newSourcePosition = -1;
+    List<ComponentResource> resources = component.getResources();
+
+    for (ComponentResource resource : resources) {
+      IPath sourcePath = resource.getSourcePath();
+      if (referenceSource.equals(sourcePath)) {
+        refPosition = i;
+      } else if (newSource.equals(sourcePath)) {
+        newSourcePosition = i;
+      }
+      if (refPosition > -1 &&  newSourcePosition > -1) {
+        break;
+      }
+      i++;
+    }
+    if (refPosition < 0) {
+      refPosition = i;
+    }
+    if (newSourcePosition > refPosition) {
+      component.getResources().move(newSourcePosition, refPosition);
+    } else if (newSourcePosition < 0) {
+      component.getResources().add(refPosition, createResource(newSource, runtimePath));
+    }
+  }
+
+  /**
+   * Inserts a link as the first resource of the component.
+   */
+  public void insertLinkFirst(IPath newSource, IPath runtimePath) {
+    if (component == null) {
+      return;
+    }
+    component.getResources().add(0, createResource(newSource, runtimePath));
+  }
+
+  /**
+   * Sets the component deployed name, if it changed.
+   */
+  public void setDeployedName(String deployedName) {
+    if (component != null && deployedName != null && !deployedName.equals(component.getName())) {
+      component.setName(deployedName);
+    }
+  }
+
+  private ComponentResource createResource(IPath source, IPath runtimePath) {
+    IContainer folder = source.isRoot() ? project : project.getFolder(source);
+    ComponentResource componentResource = moduleCore.createWorkbenchModuleResource(folder);
+    componentResource.setRuntimePath(runtimePath);
+    return componentResource;
+  }
+
+  /**
+   * Saves the component, if it was modified, and releases the underlying model.
+   */
+  @Override
+  public void close() {
+    if (moduleCore != null) {
+      try {
+        moduleCore.saveIfNecessary(monitor);
+      } finally {
+        moduleCore.dispose();
+        moduleCore = null;
+        component = null;
+      }
+    }
+  }
+}
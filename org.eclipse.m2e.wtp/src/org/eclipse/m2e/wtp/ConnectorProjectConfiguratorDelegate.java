@@ -12,7 +12,11 @@ package org.eclipse.m2e.wtp;
 
 import static org.eclipse.m2e.wtp.WTPProjectsUtil.removeConflictingFacets;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.maven.artifact.Artifact;
@@ -30,6 +34,7 @@ import org.eclipse.jst.j2ee.jca.project.facet.IConnectorFacetInstallDataModelPro
 import org.eclipse.m2e.core.MavenPlugin;
 import org.eclipse.m2e.core.project.IMavenProjectFacade;
 import org.eclipse.m2e.core.project.MavenProjectUtils;
+import org.eclipse.m2e.wtp.internal.utilities.ReferenceDiff;
 import org.eclipse.m2e.wtp.namemapping.FileNameMappingFactory;
 import org.eclipse.wst.common.componentcore.ComponentCore;
 import org.eclipse.wst.common.componentcore.ModuleCoreNature;
@@ -67,7 +72,7 @@ protected void configure(IProject project, MavenProject mavenProject, IProgressM
     installJavaFacet(actions, project, facetedProject);
 
     IMavenProjectFacade facade = MavenPlugin.getMavenProjectRegistry().create(project, monitor);
-    RarPluginConfiguration config = new RarPluginConfiguration(facade);
+    RarPluginConfiguration config = PluginConfigurationCache.getRarPluginConfiguration(facade);
     
     String contentDir = config.getRarContentDirectory();
 
@@ -121,25 +126,27 @@ protected void configure(IProject project, MavenProject mavenProject, IProgressM
     
     IVirtualComponent component = ComponentCore.createComponent(project);
     if (component != null) {
+      //All .component edits below share the same model, which is saved once the session is closed
+      try (ComponentEditSession session = ComponentEditSession.open(project, monitor)) {
+        if (config.isJarIncluded()) {
+          addSourceLinks(session, component, mavenProject, monitor);
+        } else {
+          //project classes won't be jar'ed in the resulting rar.
+          removeSourceLinks(component, mavenProject, monitor);
+        }
 
-      if (config.isJarIncluded()) {
-        addSourceLinks(component, mavenProject, monitor);
-      } else {
-        //project classes won't be jar'ed in the resulting rar.
-        removeSourceLinks(component, mavenProject, monitor);
-      }
-      
-      removeTestFolderLinks(project, mavenProject, monitor, "/");  //$NON-NLS-1$
-      
-      linkFileFirst(project, customRaXml, "META-INF/ra.xml", monitor); //$NON-NLS-1$
+        removeTestFolderLinks(project, mavenProject, monitor, "/");  //$NON-NLS-1$
 
-      IPath contentDirPath = new Path("/").append(contentDir); //$NON-NLS-1$
-      
-      if (!WTPProjectsUtil.hasLink(project, ROOT_PATH, contentDirPath, monitor)) {
-        component.getRootFolder().createLink(contentDirPath, IVirtualResource.NONE, monitor); 
+        linkFileFirst(session, customRaXml, "META-INF/ra.xml"); //$NON-NLS-1$
+
+        IPath contentDirPath = new Path("/").append(contentDir); //$NON-NLS-1$
+
+        if (!session.hasLink(ROOT_PATH, contentDirPath)) {
+          component.getRootFolder().createLink(contentDirPath, IVirtualResource.NONE, monitor); 
+        }
+
+        WTPProjectsUtil.setDefaultDeploymentDescriptorFolder(component.getRootFolder(), contentDirPath, monitor);
       }
-      
-      WTPProjectsUtil.setDefaultDeploymentDescriptorFolder(component.getRootFolder(), contentDirPath, monitor);
     }
 
     setNonDependencyAttributeToContainer(project, monitor);
@@ -151,22 +158,22 @@ protected void configure(IProject project, MavenProject mavenProject, IProgressM
     
   }
 
-  private void addSourceLinks(IVirtualComponent component, MavenProject mavenProject, IProgressMonitor monitor) throws CoreException {
+  private void addSourceLinks(ComponentEditSession session, IVirtualComponent component, MavenProject mavenProject, IProgressMonitor monitor) throws CoreException {
     IProject project = component.getProject();
     IPath classesPath = MavenProjectUtils.getProjectRelativePath(project, mavenProject.getBuild().getOutputDirectory());
     if (classesPath != null) {
       for(IPath location : MavenProjectUtils.getSourceLocations(project, mavenProject.getCompileSourceRoots())) {
-        addLinkIfNecessary(component, location, monitor);
+        addLinkIfNecessary(session, component, location, monitor);
       }
       for(IPath location : MavenProjectUtils.getResourceLocations(project, mavenProject.getResources())) {
-        addLinkIfNecessary(component, location, monitor);
+        addLinkIfNecessary(session, component, location, monitor);
       }
     }
   }
 
-  private void addLinkIfNecessary(IVirtualComponent component, IPath location, IProgressMonitor monitor) throws CoreException {
+  private void addLinkIfNecessary(ComponentEditSession session, IVirtualComponent component, IPath location, IProgressMonitor monitor) throws CoreException {
     IProject project = component.getProject();
-    if (location!=null && !WTPProjectsUtil.hasLink(project, ROOT_PATH, location, monitor)) {
+    if (location!=null && !session.hasLink(ROOT_PATH, location)) {
       if (project.getFolder(location).isAccessible()) {
         component.getRootFolder().createLink(location, IVirtualResource.NONE, monitor); 
       }
@@ -201,21 +208,34 @@ public void setModuleDependencies(IProject project, MavenProject mavenProject, I
     
     Set<Artifact> artifacts =  mavenProject.getArtifacts();
     
-    //Adding artifact references in .component. See https://bugs.eclipse.org/bugs/show_bug.cgi?id=297777#c1
+    List<Artifact> deployedArtifacts = new ArrayList<>(artifacts.size());
+    Map<Artifact, IMavenProjectFacade> workspaceDependencies = new LinkedHashMap<>();
     for(Artifact artifact : artifacts) {
     	ArtifactHelper.fixArtifactHandler(artifact.getArtifactHandler());
       //Don't deploy pom, non runtime or optional dependencies
       if("pom".equals(artifact.getType()) || !SCOPE_FILTER_RUNTIME.include(artifact) || artifact.isOptional()) { //$NON-NLS-1$
         continue;
       }
-      
+      deployedArtifacts.add(artifact);
+
       IMavenProjectFacade workspaceDependency = projectManager.getMavenProject(artifact.getGroupId(), artifact
           .getArtifactId(), artifact.getVersion());
 
       if(workspaceDependency != null && !workspaceDependency.getProject().equals(project)
           && workspaceDependency.getFullPath(artifact.getFile()) != null) {
+        workspaceDependencies.put(artifact, workspaceDependency);
+      }
+    }
+
+    //Configure all the workspace dependencies at once, leaf projects first
+    preConfigureDependencyProjects(workspaceDependencies.values(), monitor);
+
+    //Adding artifact references in .component. See https://bugs.eclipse.org/bugs/show_bug.cgi?id=297777#c1
+    for(Artifact artifact : deployedArtifacts) {
+      IMavenProjectFacade workspaceDependency = workspaceDependencies.get(artifact);
+      if(workspaceDependency != null) {
         //artifact dependency is a workspace project
-        IProject depProject = preConfigureDependencyProject(workspaceDependency, monitor);
+        IProject depProject = workspaceDependency.getProject();
         if (ModuleCoreNature.isFlexibleProject(depProject)) {
           newRefs.add(createReference(rarComponent, depProject, artifact));
         }
@@ -230,9 +250,7 @@ public void setModuleDependencies(IProject project, MavenProject mavenProject, I
     
     //Only change the project references if they've changed
     IVirtualReference[] references = WTPProjectsUtil.extractHardReferences(rarComponent, false);
-    if (WTPProjectsUtil.hasChanged(references, newRefsArray)) {
-      rarComponent.setReferences(newRefsArray);
-    }
+    ReferenceDiff.compute(references, newRefsArray).apply(rarComponent, null, false);
   }
 
   private IVirtualReference createReference(IVirtualComponent rarComponent, IProject project, Artifact artifact) {
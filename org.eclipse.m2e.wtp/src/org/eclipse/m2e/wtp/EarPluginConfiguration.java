@@ -181,7 +181,7 @@ public class EarPluginConfiguration extends AbstractFilteringSupportMavenPlugin
   /**
    * Return the default bundle directory, where jars will be deployed.
    */
-  public String getDefaultBundleDirectory() {
+  public synchronized String getDefaultBundleDirectory() {
     if(libDirectory == null) {
       Xpp3Dom config = getConfiguration();
       if(config != null) {
@@ -203,7 +203,7 @@ public class EarPluginConfiguration extends AbstractFilteringSupportMavenPlugin
    * @see org.apache.maven.plugin.ear.AbstractEarMojo
    * @return an unmodifiable set of EarModule
    */
-  public Set<EarModule> getEarModules() throws EarPluginException {
+  public synchronized Set<EarModule> getEarModules() throws EarPluginException {
     if (earModules == null) {
       //Lazy load modules
       earModules = collectEarModules();
@@ -272,7 +272,7 @@ public class EarPluginConfiguration extends AbstractFilteringSupportMavenPlugin
     return "none"; //$NON-NLS-1$
   }
 
-  private ArtifactTypeMappingService getArtifactTypeMappingService() throws EarPluginException {
+  private synchronized ArtifactTypeMappingService getArtifactTypeMappingService() throws EarPluginException {
     if(typeMappingService == null) {
       Xpp3Dom config = getConfiguration();
       Xpp3Dom artifactTypeMappingConfig = null;
@@ -14,8 +14,10 @@ package org.eclipse.m2e.wtp;
 import static org.eclipse.m2e.wtp.WTPProjectsUtil.removeConflictingFacets;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.maven.artifact.Artifact;
@@ -43,6 +45,7 @@ import org.eclipse.m2e.core.project.IMavenProjectFacade;
 import org.eclipse.m2e.wtp.earmodules.EarModule;
 import org.eclipse.m2e.wtp.internal.Messages;
 import org.eclipse.m2e.wtp.internal.utilities.PathUtil;
+import org.eclipse.m2e.wtp.internal.utilities.ReferenceDiff;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.wst.common.componentcore.ComponentCore;
 import org.eclipse.wst.common.componentcore.ModuleCoreNature;
@@ -79,7 +82,7 @@ protected void configure(IProject project, MavenProject mavenProject, IProgressM
     IFacetedProject facetedProject = ProjectFacetsManager.create(project, true, monitor);
     IMavenProjectFacade facade = MavenPlugin.getMavenProjectRegistry().create(project.getFile(IMavenConstants.POM_FILE_NAME), true, monitor);
     
-    EarPluginConfiguration config = new EarPluginConfiguration(mavenProject);
+    EarPluginConfiguration config = PluginConfigurationCache.getEarPluginConfiguration(mavenProject);
     Set<Action> actions = new LinkedHashSet<>();
 
     String contentDir = config.getEarContentDirectory(project);
@@ -120,42 +123,46 @@ protected void configure(IProject project, MavenProject mavenProject, IProgressM
     
     IVirtualComponent earComponent = ComponentCore.createComponent(project);
     IPath contentDirPath = new Path((contentDir.startsWith("/"))?contentDir:"/"+contentDir); //$NON-NLS-1$ //$NON-NLS-2$
-    //Ensure the EarContent link has been created
-    if (!WTPProjectsUtil.hasLink(project, ROOT_PATH, contentDirPath, monitor)) {
-      earComponent.getRootFolder().createLink(contentDirPath, IVirtualResource.NONE, monitor);
-    }
-    WTPProjectsUtil.setDefaultDeploymentDescriptorFolder(earComponent.getRootFolder(), contentDirPath, monitor);
 
-    //MECLIPSEWTP-56 : application.xml should not be generated in the source directory
-    boolean useBuildDirectory = MavenWtpPlugin.getDefault().getMavenWtpPreferencesManager().getPreferences(project).isApplicationXmGeneratedInBuildDirectory();
-    boolean useResourcefiltering = config.isFilteringDeploymentDescriptorsEnabled();
-    
-    List<IPath> sourcePaths = new ArrayList<>();
-    sourcePaths.add(contentDirPath);
-    
-    if (!useBuildDirectory && useResourcefiltering) {
-        mavenMarkerManager.addMarker(project, MavenWtpConstants.WTP_MARKER_CONFIGURATION_ERROR_ID, 
-                                    Messages.markers_mavenarchiver_output_settings_ignored_warning, -1, IMarker.SEVERITY_WARNING);
-    }
-    if (useBuildDirectory || useResourcefiltering) {
-      IPath m2eclipseWtpFolderPath = new Path("/").append(ProjectUtils.getM2eclipseWtpFolder(mavenProject, project)); //$NON-NLS-1$
-      ProjectUtils.hideM2eclipseWtpFolder(mavenProject, project);
-      IPath generatedResourcesPath = m2eclipseWtpFolderPath.append(Path.SEPARATOR+MavenWtpConstants.EAR_RESOURCES_FOLDER);
-      sourcePaths.add(generatedResourcesPath);
-      if (!WTPProjectsUtil.hasLink(project, ROOT_PATH, generatedResourcesPath, monitor)) {
-        WTPProjectsUtil.insertLinkBefore(project, generatedResourcesPath, contentDirPath, ROOT_PATH, monitor);      
+    //All .component edits below share the same model, which is saved once the session is closed
+    try (ComponentEditSession session = ComponentEditSession.open(project, monitor)) {
+      //Ensure the EarContent link has been created
+      if (!session.hasLink(ROOT_PATH, contentDirPath)) {
+        earComponent.getRootFolder().createLink(contentDirPath, IVirtualResource.NONE, monitor);
       }
-     }
+      WTPProjectsUtil.setDefaultDeploymentDescriptorFolder(earComponent.getRootFolder(), contentDirPath, monitor);
 
-    //MECLIPSEWTP-161 remove stale source paths
-    WTPProjectsUtil.deleteLinks(project, ROOT_PATH, sourcePaths, monitor);
-    
-    removeTestFolderLinks(project, mavenProject, monitor, "/"); //$NON-NLS-1$
-    
-    ProjectUtils.removeNature(project, JavaCore.NATURE_ID, monitor);
+      //MECLIPSEWTP-56 : application.xml should not be generated in the source directory
+      boolean useBuildDirectory = MavenWtpPlugin.getDefault().getMavenWtpPreferencesManager().getPreferences(project).isApplicationXmGeneratedInBuildDirectory();
+      boolean useResourcefiltering = config.isFilteringDeploymentDescriptorsEnabled();
+      
+      List<IPath> sourcePaths = new ArrayList<>();
+      sourcePaths.add(contentDirPath);
+      
+      if (!useBuildDirectory && useResourcefiltering) {
+          mavenMarkerManager.addMarker(project, MavenWtpConstants.WTP_MARKER_CONFIGURATION_ERROR_ID, 
+                                      Messages.markers_mavenarchiver_output_settings_ignored_warning, -1, IMarker.SEVERITY_WARNING);
+      }
+      if (useBuildDirectory || useResourcefiltering) {
+        IPath m2eclipseWtpFolderPath = new Path("/").append(ProjectUtils.getM2eclipseWtpFolder(mavenProject, project)); //$NON-NLS-1$
+        ProjectUtils.hideM2eclipseWtpFolder(mavenProject, project);
+        IPath generatedResourcesPath = m2eclipseWtpFolderPath.append(Path.SEPARATOR+MavenWtpConstants.EAR_RESOURCES_FOLDER);
+        sourcePaths.add(generatedResourcesPath);
+        if (!session.hasLink(ROOT_PATH, generatedResourcesPath)) {
+          session.insertLinkBefore(generatedResourcesPath, contentDirPath, ROOT_PATH);      
+        }
+       }
+
+      //MECLIPSEWTP-161 remove stale source paths
+      session.deleteLinks(ROOT_PATH, sourcePaths);
+      
+      removeTestFolderLinks(project, mavenProject, monitor, "/"); //$NON-NLS-1$
+      
+      ProjectUtils.removeNature(project, JavaCore.NATURE_ID, monitor);
 
-    String finalName = org.apache.commons.lang3.StringUtils.removeEnd(config.getFinalName(), ".ear");
-    configureDeployedName(project, finalName);
+      String finalName = org.apache.commons.lang3.StringUtils.removeEnd(config.getFinalName(), ".ear");
+      session.setDeployedName(finalName);
+    }
     project.refreshLocal(IResource.DEPTH_INFINITE, monitor);
     
     //MECLIPSEWTP-221 : add (in|ex)clusion patterns as .component metadata
@@ -182,7 +189,7 @@ public void setModuleDependencies(IProject project, MavenProject mavenProject, I
     
     Set<IVirtualReference> newRefs = new LinkedHashSet<>();
     
-    EarPluginConfiguration config = new EarPluginConfiguration(mavenProject);
+    EarPluginConfiguration config = PluginConfigurationCache.getEarPluginConfiguration(mavenProject);
     // Retrieving all ear module configuration from maven-ear-plugin : User defined modules + artifacts dependencies.
     
     Set<EarModule> earModules = config.getEarModules();
@@ -193,17 +200,29 @@ public void setModuleDependencies(IProject project, MavenProject mavenProject, I
     
     IPackagingConfiguration packagingConfig = new PackagingConfiguration(config.getPackagingIncludes(), config.getPackagingExcludes());
     
+    Map<EarModule, IMavenProjectFacade> workspaceDependencies = new LinkedHashMap<>();
     for(EarModule earModule : earModules) {
-
       Artifact artifact = earModule.getArtifact();
-      IVirtualComponent depComponent = null;
       IMavenProjectFacade workspaceDependency = projectManager.getMavenProject(artifact.getGroupId(), artifact
           .getArtifactId(), artifact.getVersion());
 
       if(workspaceDependency != null && !workspaceDependency.getProject().equals(project)
           && workspaceDependency.getFullPath(artifact.getFile()) != null) {
+        workspaceDependencies.put(earModule, workspaceDependency);
+      }
+    }
+
+    //Configure all the workspace dependencies at once, leaf projects first
+    preConfigureDependencyProjects(workspaceDependencies.values(), monitor);
+
+    for(EarModule earModule : earModules) {
+
+      IVirtualComponent depComponent = null;
+      IMavenProjectFacade workspaceDependency = workspaceDependencies.get(earModule);
+
+      if(workspaceDependency != null) {
         //artifact dependency is a workspace project
-        IProject depProject = preConfigureDependencyProject(workspaceDependency, monitor);
+        IProject depProject = workspaceDependency.getProject();
         if (ModuleCoreNature.isFlexibleProject(depProject)) {
           depComponent = createDependencyComponent(earComponent, depProject);
         }
@@ -225,9 +244,7 @@ public void setModuleDependencies(IProject project, MavenProject mavenProject, I
     newRefs.toArray(newRefsArray);
     
     //Only change the project references if they've changed
-    if (hasChanged(earComponent.getReferences(), newRefsArray)) {
-      earComponent.setReferences(newRefsArray);
-    }
+    ReferenceDiff.compute(earComponent.getReferences(), newRefsArray).apply(earComponent, null, false);
 
     boolean useBuildDirectory = MavenWtpPlugin.getDefault().getMavenWtpPreferencesManager().getPreferences(project).isApplicationXmGeneratedInBuildDirectory();
     DeploymentDescriptorManagement.INSTANCE.updateConfiguration(project, mavenProject, config, useBuildDirectory, monitor);
@@ -10,6 +10,12 @@
 
 package org.eclipse.m2e.wtp;
 
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.m2e.wtp.internal.ActivationCache;
+import org.eclipse.m2e.wtp.internal.DependencyConfigurationTracker;
 import org.eclipse.m2e.wtp.internal.preferences.MavenWtpPreferencesManagerImpl;
 import org.eclipse.m2e.wtp.preferences.IMavenWtpPreferencesManager;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
@@ -27,11 +33,29 @@ public class MavenWtpPlugin extends AbstractUIPlugin {
   private static MavenWtpPlugin instance;
 
   private IMavenWtpPreferencesManager preferenceManager; 
+
+  private ActivationCache activationCache;
+
+  private final DependencyConfigurationTracker dependencyConfigurationTracker = new DependencyConfigurationTracker();
+
+  private final IResourceChangeListener projectListener = event -> {
+    if (event.getResource() instanceof IProject project) {
+      dependencyConfigurationTracker.forget(project);
+    }
+  };
   
   public IMavenWtpPreferencesManager getMavenWtpPreferencesManager() {
     return preferenceManager;
   }
 
+  ActivationCache getActivationCache() {
+    return activationCache;
+  }
+
+  DependencyConfigurationTracker getDependencyConfigurationTracker() {
+    return dependencyConfigurationTracker;
+  }
+
   public MavenWtpPlugin() {
     instance = this;
   }
@@ -40,11 +64,24 @@ public class MavenWtpPlugin extends AbstractUIPlugin {
   public void start(BundleContext context) throws Exception {
     super.start(context);
     
-    this.preferenceManager = new MavenWtpPreferencesManagerImpl();
+    MavenWtpPreferencesManagerImpl preferenceManagerImpl = new MavenWtpPreferencesManagerImpl();
+    this.preferenceManager = preferenceManagerImpl;
+    this.activationCache = new ActivationCache(preferenceManagerImpl);
+    ResourcesPlugin.getWorkspace().addResourceChangeListener(projectListener,
+        IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE);
   }
 
   @Override
   public void stop(BundleContext context) throws Exception {
+    ResourcesPlugin.getWorkspace().removeResourceChangeListener(projectListener);
+    dependencyConfigurationTracker.reset();
+    if (activationCache != null) {
+      activationCache.dispose();
+      activationCache = null;
+    }
+    if (preferenceManager instanceof MavenWtpPreferencesManagerImpl preferenceManagerImpl) {
+      preferenceManagerImpl.dispose();
+    }
     super.stop(context);
   }
   
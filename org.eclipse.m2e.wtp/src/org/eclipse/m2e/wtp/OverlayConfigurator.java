@@ -35,6 +35,7 @@ import org.eclipse.m2e.core.project.configurator.MojoExecutionKey;
 import org.eclipse.m2e.core.project.configurator.ProjectConfigurationRequest;
 import org.eclipse.m2e.jdt.IClasspathDescriptor;
 import org.eclipse.m2e.wtp.internal.StringUtils;
+import org.eclipse.m2e.wtp.internal.utilities.ReferenceDiff;
 import org.eclipse.m2e.wtp.overlay.modulecore.IOverlayVirtualComponent;
 import org.eclipse.m2e.wtp.overlay.modulecore.OverlayComponentCore;
 import org.eclipse.wst.common.componentcore.ComponentCore;
@@ -106,7 +107,7 @@ public class OverlayConfigurator extends WTPProjectConfigurator {
 		try {
 			helper.ensureDependenciesAreResolved("maven-war-plugin", "war:war", monitor); //$NON-NLS-1$ //$NON-NLS-2$
 			MavenProject mavenProject = helper.getMavenProject();
-			WarPluginConfiguration config = new WarPluginConfiguration(mavenProject, project);
+			WarPluginConfiguration config = PluginConfigurationCache.getWarPluginConfiguration(mavenProject, project);
 
 			List<Overlay> overlays = config.getOverlays();
 			// 1 overlay = current project => no overlay component needed
@@ -164,13 +165,12 @@ public class OverlayConfigurator extends WTPProjectConfigurator {
 			IVirtualReference[] updatedOverlayRefs = newOverlayRefs
 					.toArray(new IVirtualReference[newOverlayRefs.size()]);
 
-			if (WTPProjectsUtil.hasChanged2(oldOverlayRefs, updatedOverlayRefs)) {
+			// Overlay order is significant, since the first overlay wins
+			ReferenceDiff referenceDiff = ReferenceDiff.computeOrdered(oldOverlayRefs, updatedOverlayRefs);
+			if (referenceDiff.hasChanges()) {
 				// Only write in the .component file if necessary
 				IVirtualReference[] nonOverlayRefs = WTPProjectsUtil.extractHardReferences(warComponent, false);
-				IVirtualReference[] allRefs = new IVirtualReference[nonOverlayRefs.length + updatedOverlayRefs.length];
-				System.arraycopy(nonOverlayRefs, 0, allRefs, 0, nonOverlayRefs.length);
-				System.arraycopy(updatedOverlayRefs, 0, allRefs, nonOverlayRefs.length, updatedOverlayRefs.length);
-				warComponent.setReferences(allRefs);
+				referenceDiff.apply(warComponent, nonOverlayRefs, true);
 			}
 
 		} finally {
@@ -10,9 +10,12 @@
 
 package org.eclipse.m2e.wtp;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
-import org.eclipse.m2e.wtp.internal.AntPathMatcher;
+import org.eclipse.m2e.wtp.internal.CompiledAntPattern;
 
 
 /**
@@ -31,7 +34,9 @@ public class PackagingConfiguration implements IPackagingConfiguration {
 
   String[] packagingExcludes;
 
-  private AntPathMatcher matcher;
+  private final List<Predicate<String>> includeMatchers;
+
+  private final List<Predicate<String>> excludeMatchers;
 
   private final static String REGEX_BEGIN = "%regex["; //$NON-NLS-1$
   private final static String REGEX_END = "]"; //$NON-NLS-1$
@@ -39,7 +44,9 @@ public class PackagingConfiguration implements IPackagingConfiguration {
   public PackagingConfiguration(String[] packagingIncludes, String[] packagingExcludes) {
     this.packagingIncludes = toPortablePathArray(packagingIncludes);
     this.packagingExcludes = toPortablePathArray(packagingExcludes);
-    matcher = new AntPathMatcher();
+    //Patterns are compiled once, as they're usually matched against every dependency of the project
+    includeMatchers = compile(this.packagingIncludes);
+    excludeMatchers = compile(this.packagingExcludes);
   }
 
   @Override
@@ -48,21 +55,19 @@ public boolean isPackaged(String virtualPath) {
       return false;
     }
     virtualPath = toPortablePath(virtualPath);
-    if (packagingExcludes != null) {
-      for(String excl : packagingExcludes) {
-        if(matches(excl, virtualPath)) {
-          //stop here already, since exclusions have precedence over inclusions
-          return false;
-        }
+    for(Predicate<String> excl : excludeMatchers) {
+      if(excl.test(virtualPath)) {
+        //stop here already, since exclusions have precedence over inclusions
+        return false;
       }
     }
 
     //so the path is not excluded, check if it is included into packaging
-    if (packagingIncludes == null || packagingIncludes.length == 0) {
+    if (includeMatchers.isEmpty()) {
       return true;
     }
-    for(String incl : packagingIncludes) {
-      if(matches(incl, virtualPath)) {
+    for(Predicate<String> incl : includeMatchers) {
+      if(incl.test(virtualPath)) {
         return true;
       }
     }
@@ -90,12 +95,22 @@ public boolean isPackaged(String virtualPath) {
 	  return regEx.startsWith(REGEX_BEGIN) && regEx.endsWith(REGEX_END);
   }
 
-  private boolean matches(String pattern, String input){
-	  if (isRegex(pattern)){
-		  //%regex[] pattern
-		  return Pattern.matches(convertToJavaRegEx(pattern), input);
+  private List<Predicate<String>> compile(String[] patterns) {
+    List<Predicate<String>> matchers = new ArrayList<>(patterns == null ? 0 : patterns.length);
+    if (patterns != null) {
+      for (String pattern : patterns) {
+        matchers.add(compile(pattern));
       }
-	  return matcher.match(pattern, input);
+    }
+    return matchers;
+  }
+
+  private Predicate<String> compile(String pattern) {
+    if (isRegex(pattern)) {
+      //%regex[] pattern, must match the whole path, like Pattern.matches()
+      return Pattern.compile(convertToJavaRegEx(pattern)).asMatchPredicate();
+    }
+    return CompiledAntPattern.compile(pattern)::matches;
   }
 
   private String convertToJavaRegEx(String regEx){
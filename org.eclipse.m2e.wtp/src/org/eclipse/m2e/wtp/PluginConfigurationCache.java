@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.m2e.wtp;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.project.MavenProject;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.m2e.core.project.IMavenProjectFacade;
+
+/**
+ * Shares parsed Java EE plugin configurations between all the consumers of a Maven project : the configuration,
+ * classpath and dependency phases, the build participants, the JAX-RS and JSF configurators and the filtering
+ * configurations.
+ * <p>
+ * Configurations are stored as a context value of the {@link MavenProject} instance they're read from. m2e creates
+ * a new instance whenever the pom or its parents change, so a cached configuration never outlives the model it was
+ * parsed from, and is released with it. Cached configurations can be used by several threads at once : their lazily
+ * computed values are either immutable or computed under a lock.
+ * </p>
+ *
+ * @provisional This class has been added as part of a work in progress.
+ * It is not guaranteed to work or remain the same in future releases.
+ * For more information contact <a href="mailto:m2e-wtp-dev@eclipse.org">m2e-wtp-dev@eclipse.org</a>.
+ */
+public final class PluginConfigurationCache {
+
+  private static final String CONTEXT_KEY = PluginConfigurationCache.class.getName();
+
+  private static final String WAR_CONFIGURATION_KEY = WarPluginConfiguration.class.getName();
+
+  private static final String EAR_CONFIGURATION_KEY = EarPluginConfiguration.class.getName();
+
+  private static final String RAR_CONFIGURATION_KEY = RarPluginConfiguration.class.getName();
+
+  /** Guards the creation of the caches, MavenProject contexts are not thread safe */
+  private static final Object CONTEXT_LOCK = new Object();
+
+  private PluginConfigurationCache() {
+    //No public constructor
+  }
+
+  /**
+   * @return the maven-war-plugin configuration of the Maven project.
+   */
+  public static WarPluginConfiguration getWarPluginConfiguration(MavenProject mavenProject, IProject project) {
+    Map<String, Object> cache = getCache(mavenProject);
+    Object cached = cache.get(WAR_CONFIGURATION_KEY);
+    if (cached instanceof WarPluginConfiguration warConfig && warConfig.isConfigurationOf(project)) {
+      return warConfig;
+    }
+    WarPluginConfiguration config = new WarPluginConfiguration(mavenProject, project);
+    cache.put(WAR_CONFIGURATION_KEY, config);
+    return config;
+  }
+
+  /**
+   * @return the maven-ear-plugin configuration of the Maven project.
+   */
+  public static EarPluginConfiguration getEarPluginConfiguration(MavenProject mavenProject) {
+    return (EarPluginConfiguration) getCache(mavenProject).computeIfAbsent(EAR_CONFIGURATION_KEY,
+        k -> new EarPluginConfiguration(mavenProject));
+  }
+
+  /**
+   * @return the maven-rar-plugin configuration of the Maven project facade.
+   */
+  public static RarPluginConfiguration getRarPluginConfiguration(IMavenProjectFacade facade) throws CoreException {
+    MavenProject mavenProject = facade.getMavenProject(new NullProgressMonitor());
+    if (mavenProject == null) {
+      return new RarPluginConfiguration(facade);
+    }
+    Map<String, Object> cache = getCache(mavenProject);
+    Object cached = cache.get(RAR_CONFIGURATION_KEY);
+    if (cached instanceof RarPluginConfiguration rarConfig && rarConfig.rarFacade.getProject().equals(facade.getProject())) {
+      return rarConfig;
+    }
+    RarPluginConfiguration config = new RarPluginConfiguration(facade);
+    cache.put(RAR_CONFIGURATION_KEY, config);
+    return config;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> getCache(MavenProject mavenProject) {
+    synchronized (CONTEXT_LOCK) {
+      Object cache = mavenProject.getContextValue(CONTEXT_KEY);
+      if (cache instanceof Map) {
+        return (Map<String, Object>) cache;
+      }
+      Map<String, Object> newCache = new ConcurrentHashMap<>(4);
+      mavenProject.setContextValue(CONTEXT_KEY, newCache);
+      return newCache;
+    }
+  }
+}
@@ -27,6 +27,7 @@ import org.eclipse.m2e.core.project.configurator.MojoExecutionKey;
 import org.eclipse.m2e.core.project.configurator.ProjectConfigurationRequest;
 import org.eclipse.m2e.jdt.IClasspathDescriptor;
 import org.eclipse.m2e.jdt.IJavaProjectConfigurator;
+import org.eclipse.m2e.wtp.internal.ConfigurationFingerprint;
 import org.eclipse.m2e.wtp.internal.build.WarProjectBuildParticipant;
 import org.eclipse.m2e.wtp.internal.filtering.EarResourceBuildParticipant;
 import org.eclipse.m2e.wtp.internal.filtering.ResourceFilteringBuildParticipant;
@@ -66,10 +67,20 @@ public class WTPProjectConfigurator extends AbstractProjectConfigurator implemen
     IProjectConfiguratorDelegate configuratorDelegate = ProjectConfiguratorDelegateFactory
         .getProjectConfiguratorDelegate(mavenProject.getPackaging());
     if(configuratorDelegate != null) {
-      try {
-        configuratorDelegate.configureProject(project, mavenProject, monitor);
-      } catch(MarkedException ex) {
-        LOG.error(ex.getMessage(), ex);
+      //Skip the configuration if none of its inputs changed since the last successful one
+      ConfigurationFingerprint fingerprint = ConfigurationFingerprint.compute(project, mavenProject);
+      if (fingerprint != null && fingerprint.isUpToDate()) {
+        LOG.debug("{} configuration is up to date, skipping", project.getName()); //$NON-NLS-1$
+      } else {
+        try {
+          configuratorDelegate.configureProject(project, mavenProject, monitor);
+          if (fingerprint != null) {
+            fingerprint.store();
+          }
+        } catch(MarkedException ex) {
+          ConfigurationFingerprint.clear(project);
+          LOG.error(ex.getMessage(), ex);
+        }
       }
 
       IFolder buildFolder = project.getFolder(ProjectUtils.getBuildFolder(mavenProject, project));
@@ -24,7 +24,6 @@ import org.apache.maven.project.MavenProject;
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
-import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
@@ -187,106 +186,22 @@ public class WTPProjectsUtil {
    */
   public static void deleteLinks(IProject project, IPath runtimePath, List<IPath> sourcePathToKeep, IProgressMonitor monitor) throws CoreException {
     //Looks like WTP'APIS doesn't have such feature, hence this implementation.
-    StructureEdit moduleCore = null;
-    try {
-      moduleCore = StructureEdit.getStructureEditForWrite(project);
-      if (moduleCore == null) {
-        return;
-      }
-      WorkbenchComponent component = moduleCore.getComponent();
-      if (component == null)  {
-        return;
-      }
-      ResourceTreeRoot root = ResourceTreeRoot.getDeployResourceTreeRoot(component);
-      ComponentResource[] resources = root.findModuleResources(runtimePath, 0);
-      for (ComponentResource link : resources) {
-        if (runtimePath.equals(link.getRuntimePath()) && 
-           (sourcePathToKeep == null || !sourcePathToKeep.contains(link.getSourcePath()))) {
-          component.getResources().remove(link);
-        }
-      }
-   }
-   finally {
-     if (moduleCore != null) {
-       moduleCore.saveIfNecessary(monitor);
-       moduleCore.dispose();
-     }
+    try (ComponentEditSession session = ComponentEditSession.open(project, monitor)) {
+      session.deleteLinks(runtimePath, sourcePathToKeep);
     }
   }
   
   public static void insertLinkBefore(IProject project, IPath newSource, IPath referenceSource, IPath runtimePath, IProgressMonitor monitor) throws CoreException {
     //Looks like WTP'APIS doesn't have such feature, hence this implementation.
-    StructureEdit moduleCore = null;
-    try {
-      moduleCore = StructureEdit.getStructureEditForWrite(project);
-      if (moduleCore == null) {
-        return;
-      }
-      WorkbenchComponent component = moduleCore.getComponent();
-      if (component == null)  {
-        return;
-      }
-      
-      int i = 0;
-      int refPosition = -1;
-      int newSourcePosition = -1;
-      List<ComponentResource> resources = component.getResources();
-      
-      for (ComponentResource resource : resources) {
-        IPath sourcePath = resource.getSourcePath();
-        if (referenceSource.equals(sourcePath)) {
-          refPosition = i;
-        } else if (newSource.equals(sourcePath)) {
-          newSourcePosition = i;
-        }
-        if (refPosition > -1 &&  newSourcePosition > -1) {
-          break;
-        }
-        i++;
-      }
-      if (refPosition < 0) {
-        refPosition = i;
-      }
-      IResource folder = project.getFolder(newSource);
-      if (newSourcePosition > refPosition) {
-        component.getResources().move(newSourcePosition, refPosition);
-      } else if (newSourcePosition < 0) {
-        ComponentResource componentResource = moduleCore.createWorkbenchModuleResource(folder);
-        componentResource.setRuntimePath(runtimePath);
-        component.getResources().add(refPosition,componentResource);
-      }
-   }
-   finally {
-     if (moduleCore != null) {
-       moduleCore.saveIfNecessary(monitor);
-       moduleCore.dispose();
-     }
+    try (ComponentEditSession session = ComponentEditSession.open(project, monitor)) {
+      session.insertLinkBefore(newSource, referenceSource, runtimePath);
     }
   }
 
   public static void insertLinkFirst(IProject project, IPath newSource, IPath runtimePath, IProgressMonitor monitor) throws CoreException {
     //Looks like WTP'APIS doesn't have such feature, hence this implementation.
-    StructureEdit moduleCore = null;
-    try {
-      moduleCore = StructureEdit.getStructureEditForWrite(project);
-      if (moduleCore == null) {
-        return;
-      }
-      WorkbenchComponent component = moduleCore.getComponent();
-      if (component == null)  {
-        return;
-      }
-      
-      IResource folder = project.getFolder(newSource);
-      ComponentResource componentResource = moduleCore.createWorkbenchModuleResource(folder);
-      componentResource.setRuntimePath(runtimePath);
-      component.getResources().add(0,componentResource);
-   }
-   finally {
-     if (moduleCore != null) {
-       moduleCore.saveIfNecessary(monitor);
-       moduleCore.dispose();
-     }
+    try (ComponentEditSession session = ComponentEditSession.open(project, monitor)) {
+      session.insertLinkFirst(newSource, runtimePath);
     }
   }
   
@@ -664,22 +579,8 @@ public class WTPProjectsUtil {
 	if (facade == null) {
 	  return true;
 	}
-	MavenProject mavenProject;
-	Object pomActivationValue = null; 
-	try {
-		mavenProject = facade.getMavenProject(monitor);
-		pomActivationValue = mavenProject == null? null : mavenProject.getProperties().get(M2E_WTP_ACTIVATION_PROPERTY);
-	} catch (CoreException ex) {
-		// TODO Auto-generated catch block
-		LOG.error("Unable to load Maven project",ex); //$NON-NLS-1$
-	}
-	boolean enabled;
-	if (pomActivationValue == null) {
-	  enabled = MavenWtpPlugin.getDefault().getMavenWtpPreferencesManager().getPreferences(facade.getProject()).isEnabled();
-	} else {
-	  enabled = Boolean.parseBoolean(pomActivationValue.toString());
-	}	
-	return !enabled;
+	//The decision is cached until the pom or the m2e-wtp preferences change
+	return MavenWtpPlugin.getDefault().getActivationCache().isM2eWtpDisabled(facade, monitor);
   }
 
 
@@ -113,6 +113,11 @@ public class WarPluginConfiguration extends AbstractFilteringSupportMavenPlugin
   /** {@code true} if {@code maven-war-plugin} version is &ge; 3.0.0 */
   private boolean isVersion3OrGreater = false;
 
+  private volatile FileNameMapping fileNameMapping;
+
+  /** web facet version read from web.xml, valid as long as web.xml has the same modification stamp */
+  private volatile WebXmlFacetVersion webXmlFacetVersion;
+
   public WarPluginConfiguration(MavenProject mavenProject, IProject project) {
     this.project = project;
     this.mavenProject = mavenProject;
@@ -136,6 +141,10 @@ public class WarPluginConfiguration extends AbstractFilteringSupportMavenPlugin
     return mavenProject.getPlugin("org.apache.maven.plugins:maven-war-plugin"); //$NON-NLS-1$
   }
 
+  boolean isConfigurationOf(IProject project) {
+    return this.project == null ? project == null : this.project.equals(project);
+  }
+
   static boolean isWarProject(MavenProject mavenProject) {
     return WAR_PACKAGING.equals(mavenProject.getPackaging());
   }
@@ -255,32 +264,17 @@ public String[] getSourceIncludes() {
     }
 
 	if (webXml.isAccessible()) {
-	// web.xml was found, see to what version of the grammar it refers
-	    try (InputStream is = webXml.getContents()){
-	      JavaEEQuickPeek jqp = new JavaEEQuickPeek(is);
-	      switch(jqp.getVersion()) {
-	        case J2EEVersionConstants.WEB_2_2_ID:
-	          return WebFacetUtils.WEB_22;
-	        case J2EEVersionConstants.WEB_2_3_ID:
-	          return WebFacetUtils.WEB_23;
-	        case J2EEVersionConstants.WEB_2_4_ID:
-	          return WebFacetUtils.WEB_24;
-	        case J2EEVersionConstants.WEB_2_5_ID:
-	          return WebFacetUtils.WEB_25;
-	        case J2EEVersionConstants.WEB_3_0_ID:
-	          return WebFacetUtils.WEB_30;
-	        case WEB_3_1_ID:
-	          return WEB_31;
-	        case WEB_4_0_ID:
-	          return WEB_40;
-	        case WEB_5_0_ID:
-	          return WEB_50;
-	        case WEB_6_0_ID:
-	          return WEB_60;
-	      }
-	    } catch(IOException | CoreException ex) {
-        // expected
-	    }
+	  // web.xml was found, see to what version of the grammar it refers
+	  long stamp = webXml.getModificationStamp();
+	  WebXmlFacetVersion cached = webXmlFacetVersion;
+	  if (cached != null && webXml.equals(cached.file()) && stamp == cached.stamp()) {
+	    return cached.version();
+	  }
+	  IProjectFacetVersion webXmlVersion = readWebFacetVersion(webXml);
+	  if (webXmlVersion != null) {
+	    webXmlFacetVersion = new WebXmlFacetVersion(webXml, stamp, webXmlVersion);
+	    return webXmlVersion;
+	  }
     }
 
     //If no web.xml found and the project depends on Servlet 6.0 API, then set web facet to 6.0
@@ -323,6 +317,35 @@ public String[] getSourceIncludes() {
     //IProjectFacetVersion javaFv = JavaFacetUtils.compilerLevelToFacet(JavaFacetUtils.getCompilerLevel(project));
     //return (JavaFacetUtils.JAVA_50.compareTo(javaFv) > 0)?WebFacetUtils.WEB_24:WebFacetUtils.WEB_25; 
   }
+  private static IProjectFacetVersion readWebFacetVersion(IFile webXml) {
+    try (InputStream is = webXml.getContents()){
+      JavaEEQuickPeek jqp = new JavaEEQuickPeek(is);
+      switch(jqp.getVersion()) {
+        case J2EEVersionConstants.WEB_2_2_ID:
+          return WebFacetUtils.WEB_22;
+        case J2EEVersionConstants.WEB_2_3_ID:
+          return WebFacetUtils.WEB_23;
+        case J2EEVersionConstants.WEB_2_4_ID:
+          return WebFacetUtils.WEB_24;
+        case J2EEVersionConstants.WEB_2_5_ID:
+          return WebFacetUtils.WEB_25;
+        case J2EEVersionConstants.WEB_3_0_ID:
+          return WebFacetUtils.WEB_30;
+        case WEB_3_1_ID:
+          return WEB_31;
+        case WEB_4_0_ID:
+          return WEB_40;
+        case WEB_5_0_ID:
+          return WEB_50;
+        case WEB_6_0_ID:
+          return WEB_60;
+      }
+    } catch(IOException | CoreException ex) {
+      // expected
+    }
+    return null;
+  }
+
   /**
    * Get the custom location of web.xml, as set in &lt;webXml&gt;.
    * @return the custom location of web.xml or null if &lt;webXml&gt; is not set
@@ -424,12 +447,17 @@ public String[] getSourceIncludes() {
   }
 
   public FileNameMapping getFileNameMapping() {
-    Xpp3Dom config = getConfiguration();
-    String expression = null;
-    if(config != null) {
-      expression = DomUtils.getChildValue(config, "outputFileNameMapping"); //$NON-NLS-1$
+    FileNameMapping mapping = fileNameMapping;
+    if (mapping == null) {
+      Xpp3Dom config = getConfiguration();
+      String expression = null;
+      if(config != null) {
+        expression = DomUtils.getChildValue(config, "outputFileNameMapping"); //$NON-NLS-1$
+      }
+      mapping = new PatternBasedFileNameMapping(expression);
+      fileNameMapping = mapping;
     }
-    return new PatternBasedFileNameMapping(expression);
+    return mapping;
   }
   
   @Override
@@ -495,4 +523,7 @@ public String[] getSourceIncludes() {
     }
     return failOnMissingWebXml;
   }
+
+  private record WebXmlFacetVersion(IFile file, long stamp, IProjectFacetVersion version) {
+  }
 }
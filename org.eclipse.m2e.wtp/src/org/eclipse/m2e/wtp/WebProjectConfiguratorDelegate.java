@@ -12,6 +12,7 @@ package org.eclipse.m2e.wtp;
 
 import static org.eclipse.m2e.wtp.WTPProjectsUtil.removeConflictingFacets;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -42,7 +43,6 @@ import org.eclipse.jst.j2ee.web.project.facet.IWebFacetInstallDataModelPropertie
 import org.eclipse.jst.j2ee.web.project.facet.WebFacetInstallDataModelProvider;
 import org.eclipse.jst.j2ee.web.project.facet.WebFacetUtils;
 import org.eclipse.m2e.core.MavenPlugin;
-import org.eclipse.m2e.core.embedder.ArtifactKey;
 import org.eclipse.m2e.core.internal.IMavenConstants;
 import org.eclipse.m2e.core.project.IMavenProjectFacade;
 import org.eclipse.m2e.jdt.IClasspathDescriptor;
@@ -51,6 +51,7 @@ import org.eclipse.m2e.wtp.internal.ExtensionReader;
 import org.eclipse.m2e.wtp.internal.Messages;
 import org.eclipse.m2e.wtp.internal.filtering.WebResourceFilteringConfiguration;
 import org.eclipse.m2e.wtp.internal.utilities.ComponentModuleUtil;
+import org.eclipse.m2e.wtp.internal.utilities.ReferenceDiff;
 import org.eclipse.m2e.wtp.namemapping.FileNameMapping;
 import org.eclipse.wst.common.componentcore.ComponentCore;
 import org.eclipse.wst.common.componentcore.ModuleCoreNature;
@@ -97,7 +98,7 @@ protected void configure(IProject project, MavenProject mavenProject, IProgressM
     IMavenProjectFacade facade = MavenPlugin.getMavenProjectRegistry().create(project.getFile(IMavenConstants.POM_FILE_NAME), true, monitor);
 
     // make sure to update the main deployment folder
-    WarPluginConfiguration config = new WarPluginConfiguration(mavenProject, project);
+    WarPluginConfiguration config = PluginConfigurationCache.getWarPluginConfiguration(mavenProject, project);
     String warSourceDirectory = config.getWarSourceDirectory();
 
     IFolder contentFolder = project.getFolder(warSourceDirectory);
@@ -145,58 +146,60 @@ protected void configure(IProject project, MavenProject mavenProject, IProgressM
     //MECLIPSEWTP-41 Fix the missing moduleCoreNature
     fixMissingModuleCoreNature(project, monitor);
 
-    configureDeployedName(project, org.apache.commons.lang3.StringUtils.removeEnd(config.getWarName(), ".war"));
+    //All .component edits below share the same model, which is saved once the session is closed
+    try (ComponentEditSession session = ComponentEditSession.open(project, monitor)) {
+      session.setDeployedName(org.apache.commons.lang3.StringUtils.removeEnd(config.getWarName(), ".war"));
 
-    // MNGECLIPSE-632 remove test sources/resources from WEB-INF/classes
-    removeTestFolderLinks(project, mavenProject, monitor, "/WEB-INF/classes"); //$NON-NLS-1$
+      // MNGECLIPSE-632 remove test sources/resources from WEB-INF/classes
+      removeTestFolderLinks(project, mavenProject, monitor, "/WEB-INF/classes"); //$NON-NLS-1$
 
-    addContainerAttribute(project, DEPENDENCY_ATTRIBUTE, monitor);
+      addContainerAttribute(project, DEPENDENCY_ATTRIBUTE, monitor);
 
-    //MNGECLIPSE-2279 change the context root if needed
-    if (!contextRoot.equals(J2EEProjectUtilities.getServerContextRoot(project))) {
-      J2EEProjectUtilities.setServerContextRoot(project, contextRoot);
-    }
-
-    if (customWebXml != null) {
-      linkFileFirst(project, customWebXml, "/WEB-INF/web.xml", monitor); //$NON-NLS-1$
-    }
-
-
-    component = ComponentCore.createComponent(project, true);
-    if(component != null) {
-      IVirtualFolder rootFolder = component.getRootFolder();
-      IPath warPath = new Path("/").append(contentFolder.getProjectRelativePath()); //$NON-NLS-1$
-      boolean warPathExists = WTPProjectsUtil.hasLink(project, ROOT_PATH, warPath, monitor);
-      if (!warPathExists) {
-        component.getRootFolder().createLink(warPath, IVirtualResource.NONE, monitor);
-      }
-      IPath currentDefaultLocation = J2EEModuleVirtualComponent.getDefaultDeploymentDescriptorFolder(rootFolder);
-      if (currentDefaultLocation == null) {
-    	  WTPProjectsUtil.setDefaultDeploymentDescriptorFolder(rootFolder , warPath, monitor);
+      //MNGECLIPSE-2279 change the context root if needed
+      if (!contextRoot.equals(J2EEProjectUtilities.getServerContextRoot(project))) {
+        J2EEProjectUtilities.setServerContextRoot(project, contextRoot);
       }
-      //MECLIPSEWTP-22 support web filtered resources. Filtered resources directory must be declared BEFORE
-      //the regular web source directory. First resources discovered take precedence on deployment
-      IPath filteredFolder = new Path("/").append(WebResourceFilteringConfiguration.getTargetFolder(mavenProject, project)); //$NON-NLS-1$
 
-      boolean useBuildDir = MavenWtpPlugin.getDefault().getMavenWtpPreferencesManager().getPreferences(project).isWebMavenArchiverUsesBuildDirectory();
-      boolean useWebresourcefiltering = config.getWebResources() != null
-                                        && config.getWebResources().length > 0
-                                        || config.isFilteringDeploymentDescriptorsEnabled();
-
-      if (useBuildDir || useWebresourcefiltering) {
+      if (customWebXml != null) {
+        linkFileFirst(session, customWebXml, "/WEB-INF/web.xml"); //$NON-NLS-1$
+      }
 
-        if (!useBuildDir && useWebresourcefiltering) {
-          mavenMarkerManager.addMarker(project, MavenWtpConstants.WTP_MARKER_CONFIGURATION_ERROR_ID,
-                                      Messages.markers_mavenarchiver_output_settings_ignored_warning, -1, IMarker.SEVERITY_WARNING);
+      component = ComponentCore.createComponent(project, true);
+      if(component != null) {
+        IVirtualFolder rootFolder = component.getRootFolder();
+        IPath warPath = new Path("/").append(contentFolder.getProjectRelativePath()); //$NON-NLS-1$
+        boolean warPathExists = session.hasLink(ROOT_PATH, warPath);
+        if (!warPathExists) {
+          component.getRootFolder().createLink(warPath, IVirtualResource.NONE, monitor);
         }
-        if (!WTPProjectsUtil.hasLink(project, ROOT_PATH, filteredFolder, monitor)) {
-        	WTPProjectsUtil.insertLinkBefore(project, filteredFolder, warPath, ROOT_PATH, monitor);
+        IPath currentDefaultLocation = J2EEModuleVirtualComponent.getDefaultDeploymentDescriptorFolder(rootFolder);
+        if (currentDefaultLocation == null) {
+      	  WTPProjectsUtil.setDefaultDeploymentDescriptorFolder(rootFolder , warPath, monitor);
+        }
+        //MECLIPSEWTP-22 support web filtered resources. Filtered resources directory must be declared BEFORE
+        //the regular web source directory. First resources discovered take precedence on deployment
+        IPath filteredFolder = new Path("/").append(WebResourceFilteringConfiguration.getTargetFolder(mavenProject, project)); //$NON-NLS-1$
+
+        boolean useBuildDir = MavenWtpPlugin.getDefault().getMavenWtpPreferencesManager().getPreferences(project).isWebMavenArchiverUsesBuildDirectory();
+        boolean useWebresourcefiltering = config.getWebResources() != null
+                                          && config.getWebResources().length > 0
+                                          || config.isFilteringDeploymentDescriptorsEnabled();
+
+        if (useBuildDir || useWebresourcefiltering) {
+
+          if (!useBuildDir && useWebresourcefiltering) {
+            mavenMarkerManager.addMarker(project, MavenWtpConstants.WTP_MARKER_CONFIGURATION_ERROR_ID,
+                                        Messages.markers_mavenarchiver_output_settings_ignored_warning, -1, IMarker.SEVERITY_WARNING);
+          }
+          if (!session.hasLink(ROOT_PATH, filteredFolder)) {
+          	session.insertLinkBefore(filteredFolder, warPath, ROOT_PATH);
+          }
+        } else {
+          component.getRootFolder().removeLink(filteredFolder,IVirtualResource.NONE, monitor);
         }
-      } else {
-        component.getRootFolder().removeLink(filteredFolder,IVirtualResource.NONE, monitor);
-      }
 
-      addComponentExclusionPatterns(component, config);
+        addComponentExclusionPatterns(component, config);
+      }
     }
     WTPProjectsUtil.removeWTPClasspathContainer(project);
 
@@ -230,8 +233,9 @@ protected void configure(IProject project, MavenProject mavenProject, IProgressM
       return;
     }
 
-    WarPluginConfiguration config = new WarPluginConfiguration(mavenProject, project);
+    WarPluginConfiguration config = PluginConfigurationCache.getWarPluginConfiguration(mavenProject, project);
     Map<Artifact, String> deployedArtifacts = getDeployedArtifacts(mavenProject.getArtifacts(), config);
+    ArtifactIndex artifactIndex = new ArtifactIndex(mavenProject.getArtifacts());
 
     List<AbstractDependencyConfigurator> depConfigurators = ExtensionReader.readDependencyConfiguratorExtensions(projectManager, mavenMarkerManager);
 
@@ -239,6 +243,7 @@ protected void configure(IProject project, MavenProject mavenProject, IProgressM
 
     List<IMavenProjectFacade> exportedDependencies = getWorkspaceDependencies(project, mavenProject);
 
+    List<IMavenProjectFacade> deployedDependencies = new ArrayList<>(exportedDependencies.size());
     for(IMavenProjectFacade dependency : exportedDependencies) {
       String depPackaging = dependency.getPackaging();
       if ("pom".equals(depPackaging) //MNGECLIPSE-744 pom dependencies shouldn't be deployed //$NON-NLS-1$
@@ -246,9 +251,13 @@ protected void configure(IProject project, MavenProject mavenProject, IProgressM
           || "zip".equals(depPackaging)) { //$NON-NLS-1$
         continue;
       }
+      deployedDependencies.add(dependency);
+    }
 
-      preConfigureDependencyProject(dependency, monitor);
+    //Configure all the dependencies at once, leaf projects first
+    preConfigureDependencyProjects(deployedDependencies, monitor);
 
+    for(IMavenProjectFacade dependency : deployedDependencies) {
       if (!ModuleCoreNature.isFlexibleProject(dependency.getProject())) {
         //Projects unsupported by WTP (ex. adobe flex projects) should not be added as references
         continue;
@@ -257,9 +266,8 @@ protected void configure(IProject project, MavenProject mavenProject, IProgressM
 
       IVirtualComponent depComponent = ComponentCore.createComponent(dependency.getProject());
 
-      ArtifactKey artifactKey = ArtifactHelper.toArtifactKey(depMavenProject.getArtifact());
       //Get artifact using the proper classifier
-      Artifact artifact = ArtifactHelper.getArtifact(mavenProject.getArtifacts(), artifactKey);
+      Artifact artifact = artifactIndex.getArtifact(depMavenProject.getArtifact());
       if (artifact == null) {
         //could not map key to artifact
         artifact = depMavenProject.getArtifact();
@@ -280,13 +288,11 @@ protected void configure(IProject project, MavenProject mavenProject, IProgressM
 
     IVirtualReference[] newRefs = references.toArray(new IVirtualReference[references.size()]);
 
-    if (WTPProjectsUtil.hasChanged(oldRefs, newRefs)){
+    ReferenceDiff referenceDiff = ReferenceDiff.compute(oldRefs, newRefs);
+    if (referenceDiff.hasChanges()){
       //Only write in the .component file if necessary
       IVirtualReference[] overlayRefs = WTPProjectsUtil.extractHardReferences(component, true);
-      IVirtualReference[] allRefs = new IVirtualReference[overlayRefs.length + newRefs.length];
-      System.arraycopy(newRefs, 0, allRefs, 0, newRefs.length);
-      System.arraycopy(overlayRefs, 0, allRefs, newRefs.length, overlayRefs.length);
-      component.setReferences(allRefs);
+      referenceDiff.apply(component, overlayRefs, false);
     }
 
     //TODO why a 2nd loop???
@@ -332,14 +338,15 @@ protected void configure(IProject project, MavenProject mavenProject, IProgressM
   public void configureClasspath(IProject project, MavenProject mavenProject, IClasspathDescriptor classpath,
       IProgressMonitor monitor) throws CoreException {
 
-    WarPluginConfiguration config = new WarPluginConfiguration(mavenProject, project);
+    WarPluginConfiguration config = PluginConfigurationCache.getWarPluginConfiguration(mavenProject, project);
     Set<Artifact> artifacts = mavenProject.getArtifacts();
     Map<Artifact, String> deployedArtifacts = getDeployedArtifacts(artifacts, config);
+    ArtifactIndex artifactIndex = new ArtifactIndex(artifacts);
 
     Iterator<IClasspathEntryDescriptor> iter = classpath.getEntryDescriptors().iterator();
     while (iter.hasNext()) {
       IClasspathEntryDescriptor descriptor = iter.next();
-      Artifact artifact = ArtifactHelper.getArtifact(artifacts, descriptor.getArtifactKey());
+      Artifact artifact = artifactIndex.getArtifact(descriptor.getArtifactKey());
       if (artifact == null) {
         return;
       }
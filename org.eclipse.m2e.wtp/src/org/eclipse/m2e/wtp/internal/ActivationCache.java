@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.m2e.wtp.internal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.project.MavenProject;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.m2e.core.project.IMavenProjectFacade;
+import org.eclipse.m2e.wtp.WTPProjectsUtil;
+import org.eclipse.m2e.wtp.internal.preferences.MavenWtpPreferencesManagerImpl;
+import org.eclipse.m2e.wtp.internal.preferences.MavenWtpPreferencesManagerImpl.InvalidationListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches, per project, whether m2e-wtp is disabled, either by the <code>m2e.wtp.activation</code>
+ * pom property, or by the m2e-wtp preferences.
+ * <p>
+ * A decision is bound to the {@link IMavenProjectFacade} it was computed from. m2e creates a new facade
+ * whenever the pom changes, so pom changes are detected by identity. Decisions are invalidated along
+ * with the preferences they were computed from, which also happens when a project is closed or
+ * deleted.
+ * </p>
+ */
+public class ActivationCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ActivationCache.class);
+
+  private final Map<IProject, Activation> activations = new ConcurrentHashMap<>();
+
+  private final MavenWtpPreferencesManagerImpl preferencesManager;
+
+  private final InvalidationListener invalidationListener = this::invalidated;
+
+  public ActivationCache(MavenWtpPreferencesManagerImpl preferencesManager) {
+    this.preferencesManager = preferencesManager;
+    preferencesManager.addInvalidationListener(invalidationListener);
+  }
+
+  /**
+   * Checks if m2e-wtp is disabled for the project of the given facade.
+   */
+  public boolean isM2eWtpDisabled(IMavenProjectFacade facade, IProgressMonitor monitor) {
+    IProject project = facade.getProject();
+    Activation activation = activations.get(project);
+    if (activation != null && activation.facade == facade) {
+      return activation.disabled;
+    }
+
+    long currentGeneration = preferencesManager.getGeneration();
+    boolean disabled = computeM2eWtpDisabled(facade, monitor);
+    if (currentGeneration == preferencesManager.getGeneration()) {
+      activations.put(project, new Activation(facade, disabled));
+    }
+    return disabled;
+  }
+
+  /**
+   * Stops listening to preference changes.
+   */
+  public void dispose() {
+    preferencesManager.removeInvalidationListener(invalidationListener);
+    activations.clear();
+  }
+
+  private void invalidated(IProject project) {
+    if (project == null) {
+      //Projects without specific settings follow the workspace preferences
+      activations.clear();
+    } else {
+      activations.remove(project);
+    }
+  }
+
+  private boolean computeM2eWtpDisabled(IMavenProjectFacade facade, IProgressMonitor monitor) {
+    Object pomActivationValue = null;
+    try {
+      MavenProject mavenProject = facade.getMavenProject(monitor);
+      pomActivationValue = mavenProject == null ? null
+          : mavenProject.getProperties().get(WTPProjectsUtil.M2E_WTP_ACTIVATION_PROPERTY);
+    } catch(CoreException ex) {
+      LOG.error("Unable to load Maven project", ex); //$NON-NLS-1$
+    }
+    boolean enabled;
+    if (pomActivationValue == null) {
+      enabled = preferencesManager.getPreferences(facade.getProject()).isEnabled();
+    } else {
+      enabled = Boolean.parseBoolean(pomActivationValue.toString());
+    }
+    return !enabled;
+  }
+
+  private static final class Activation {
+
+    final IMavenProjectFacade facade;
+
+    final boolean disabled;
+
+    Activation(IMavenProjectFacade facade, boolean disabled) {
+      this.facade = facade;
+      this.disabled = disabled;
+    }
+  }
+}
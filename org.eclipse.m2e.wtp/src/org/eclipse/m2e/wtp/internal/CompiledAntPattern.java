@@ -0,0 +1,374 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.m2e.wtp.internal;
+
+/**
+ * An Ant-style path pattern, tokenized once and matched any number of times.
+ * <p>
+ * '?' matches one character, '*' zero or more characters and '**' zero or more directories. The path is
+ * walked with index arithmetic : it is neither tokenized nor copied into intermediate Strings.
+ * </p>
+ * Instances are immutable and can be shared between threads.
+ */
+public final class CompiledAntPattern {
+
+  /** Default path separator: "/" */
+  public static final String DEFAULT_PATH_SEPARATOR = "/"; //$NON-NLS-1$
+
+  private static final long NO_SEGMENT = -1L;
+
+  private final String pattern;
+
+  private final String pathSeparator;
+
+  private final boolean absolute;
+
+  private final boolean directory;
+
+  private final char[][] segments;
+
+  private final boolean[] doubleStars;
+
+  private final boolean[] stars;
+
+  private CompiledAntPattern(String pattern, String pathSeparator) {
+    this.pattern = pattern;
+    this.pathSeparator = pathSeparator;
+    this.absolute = pattern.startsWith(pathSeparator);
+    this.directory = pattern.endsWith(pathSeparator);
+    String[] tokens = StringUtils.tokenizeToStringArray(pattern, pathSeparator);
+    segments = new char[tokens.length][];
+    doubleStars = new boolean[tokens.length];
+    stars = new boolean[tokens.length];
+    for (int i = 0; i < tokens.length; i++) {
+      segments[i] = tokens[i].toCharArray();
+      doubleStars[i] = "**".equals(tokens[i]); //$NON-NLS-1$
+      stars[i] = tokens[i].indexOf('*') > -1;
+    }
+  }
+
+  /**
+   * Compiles a pattern using the default "/" path separator.
+   */
+  public static CompiledAntPattern compile(String pattern) {
+    return compile(pattern, DEFAULT_PATH_SEPARATOR);
+  }
+
+  /**
+   * Compiles a pattern. Each character of pathSeparator is a separator.
+   */
+  public static CompiledAntPattern compile(String pattern, String pathSeparator) {
+    return new CompiledAntPattern(pattern, pathSeparator == null ? DEFAULT_PATH_SEPARATOR : pathSeparator);
+  }
+
+  public String getPattern() {
+    return pattern;
+  }
+
+  /**
+   * Checks if the whole path matches this pattern.
+   */
+  public boolean matches(String path) {
+    if (path.startsWith(pathSeparator) != absolute) {
+      return false;
+    }
+    int pattIdxStart = 0;
+    int pattIdxEnd = segments.length - 1;
+    //Unmatched part of the path
+    int pathStart = 0;
+    int pathEnd = path.length();
+
+    // Match all elements up to the first **
+    long segment;
+    while (pattIdxStart <= pattIdxEnd && (segment = nextSegment(path, pathStart, pathEnd)) != NO_SEGMENT) {
+      if (doubleStars[pattIdxStart]) {
+        break;
+      }
+      if (!matchSegment(pattIdxStart, path, start(segment), end(segment))) {
+        return false;
+      }
+      pattIdxStart++;
+      pathStart = end(segment);
+    }
+
+    if (nextSegment(path, pathStart, pathEnd) == NO_SEGMENT) {
+      // Path is exhausted, only match if rest of pattern is * or **'s
+      if (pattIdxStart > pattIdxEnd) {
+        return directory ? path.endsWith(pathSeparator) : !path.endsWith(pathSeparator);
+      }
+      if (pattIdxStart == pattIdxEnd && isSingleStar(pattIdxStart) && path.endsWith(pathSeparator)) {
+        return true;
+      }
+      return onlyDoubleStars(pattIdxStart, pattIdxEnd);
+    } else if (pattIdxStart > pattIdxEnd) {
+      // Path not exhausted, but pattern is. Failure.
+      return false;
+    }
+
+    // up to last '**'
+    while (pattIdxStart <= pattIdxEnd && (segment = previousSegment(path, pathStart, pathEnd)) != NO_SEGMENT) {
+      if (doubleStars[pattIdxEnd]) {
+        break;
+      }
+      if (!matchSegment(pattIdxEnd, path, start(segment), end(segment))) {
+        return false;
+      }
+      pattIdxEnd--;
+      pathEnd = start(segment);
+    }
+    if (nextSegment(path, pathStart, pathEnd) == NO_SEGMENT) {
+      // Path is exhausted
+      return onlyDoubleStars(pattIdxStart, pattIdxEnd);
+    }
+
+    while (pattIdxStart != pattIdxEnd && nextSegment(path, pathStart, pathEnd) != NO_SEGMENT) {
+      int patIdxTmp = -1;
+      for (int i = pattIdxStart + 1; i <= pattIdxEnd; i++) {
+        if (doubleStars[i]) {
+          patIdxTmp = i;
+          break;
+        }
+      }
+      if (patIdxTmp == pattIdxStart + 1) {
+        // '**/**' situation, so skip one
+        pattIdxStart++;
+        continue;
+      }
+      // Find the segments between pattIdxStart & patIdxTmp in the unmatched part of the path
+      int patLength = patIdxTmp - pattIdxStart - 1;
+      int foundEnd = -1;
+      long candidate = nextSegment(path, pathStart, pathEnd);
+      while (candidate != NO_SEGMENT && foundEnd < 0) {
+        foundEnd = matchSegments(pattIdxStart + 1, patLength, path, start(candidate), pathEnd);
+        candidate = nextSegment(path, end(candidate), pathEnd);
+      }
+      if (foundEnd < 0) {
+        return false;
+      }
+      pattIdxStart = patIdxTmp;
+      pathStart = foundEnd;
+    }
+
+    return onlyDoubleStars(pattIdxStart, pattIdxEnd);
+  }
+
+  /**
+   * Matches patLength pattern segments against consecutive path segments, the first one starting at from.
+   *
+   * @return the end of the last matched path segment, or -1 if they don't match.
+   */
+  private int matchSegments(int pattIdx, int patLength, String path, int from, int to) {
+    int position = from;
+    for (int j = 0; j < patLength; j++) {
+      long segment = nextSegment(path, position, to);
+      if (segment == NO_SEGMENT || !matchSegment(pattIdx + j, path, start(segment), end(segment))) {
+        return -1;
+      }
+      position = end(segment);
+    }
+    return position;
+  }
+
+  private boolean isSingleStar(int pattIdx) {
+    return segments[pattIdx].length == 1 && segments[pattIdx][0] == '*';
+  }
+
+  private boolean onlyDoubleStars(int from, int to) {
+    for (int i = from; i <= to; i++) {
+      if (!doubleStars[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Tests whether or not the path characters between strStart (inclusive) and strEnd (exclusive)
+   * match a pattern segment, '*' meaning zero or more characters and '?' one and only one character.
+   */
+  private boolean matchSegment(int pattIdx, String path, int strStart, int strEnd) {
+    char[] patArr = segments[pattIdx];
+    int patIdxStart = 0;
+    int patIdxEnd = patArr.length - 1;
+    int strIdxStart = strStart;
+    int strIdxEnd = strEnd - 1;
+    char ch;
+
+    if (!stars[pattIdx]) {
+      // No '*'s, so we make a shortcut
+      if (patIdxEnd != strIdxEnd - strIdxStart) {
+        return false;
+      }
+      for (int i = 0; i <= patIdxEnd; i++) {
+        ch = patArr[i];
+        if (ch != '?' && ch != path.charAt(strIdxStart + i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    if (patIdxEnd == 0) {
+      return true; // Pattern contains only '*', which matches anything
+    }
+
+    // Process characters before first star
+    while ((ch = patArr[patIdxStart]) != '*' && strIdxStart <= strIdxEnd) {
+      if (ch != '?' && ch != path.charAt(strIdxStart)) {
+        return false;
+      }
+      patIdxStart++;
+      strIdxStart++;
+    }
+    if (strIdxStart > strIdxEnd) {
+      return onlyStars(patArr, patIdxStart, patIdxEnd);
+    }
+
+    // Process characters after last star
+    while ((ch = patArr[patIdxEnd]) != '*' && strIdxStart <= strIdxEnd) {
+      if (ch != '?' && ch != path.charAt(strIdxEnd)) {
+        return false;
+      }
+      patIdxEnd--;
+      strIdxEnd--;
+    }
+    if (strIdxStart > strIdxEnd) {
+      return onlyStars(patArr, patIdxStart, patIdxEnd);
+    }
+
+    // process pattern between stars. patIdxStart and patIdxEnd always point to a '*'.
+    while (patIdxStart != patIdxEnd && strIdxStart <= strIdxEnd) {
+      int patIdxTmp = -1;
+      for (int i = patIdxStart + 1; i <= patIdxEnd; i++) {
+        if (patArr[i] == '*') {
+          patIdxTmp = i;
+          break;
+        }
+      }
+      if (patIdxTmp == patIdxStart + 1) {
+        // Two stars next to each other, skip the first one.
+        patIdxStart++;
+        continue;
+      }
+      int patLength = patIdxTmp - patIdxStart - 1;
+      int strLength = strIdxEnd - strIdxStart + 1;
+      int foundIdx = -1;
+      strLoop:
+      for (int i = 0; i <= strLength - patLength; i++) {
+        for (int j = 0; j < patLength; j++) {
+          ch = patArr[patIdxStart + j + 1];
+          if (ch != '?' && ch != path.charAt(strIdxStart + i + j)) {
+            continue strLoop;
+          }
+        }
+        foundIdx = strIdxStart + i;
+        break;
+      }
+      if (foundIdx == -1) {
+        return false;
+      }
+      patIdxStart = patIdxTmp;
+      strIdxStart = foundIdx + patLength;
+    }
+
+    return onlyStars(patArr, patIdxStart, patIdxEnd);
+  }
+
+  private static boolean onlyStars(char[] patArr, int from, int to) {
+    for (int i = from; i <= to; i++) {
+      if (patArr[i] != '*') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /*
+   * Path segments are delimited by any of the separator characters, trimmed, and empty ones are ignored,
+   * like the tokens of StringUtils.tokenizeToStringArray(). A segment is encoded in a long, holding its
+   * start (inclusive) and end (exclusive) offsets, so walking a path doesn't allocate anything.
+   */
+
+  /**
+   * @return the first segment of the path located between from and to, or {@link #NO_SEGMENT}
+   */
+  private long nextSegment(String path, int from, int to) {
+    int i = from;
+    while (i < to) {
+      while (i < to && isSeparator(path.charAt(i))) {
+        i++;
+      }
+      int start = i;
+      while (i < to && !isSeparator(path.charAt(i))) {
+        i++;
+      }
+      int end = i;
+      while (start < end && path.charAt(start) <= ' ') {
+        start++;
+      }
+      while (end > start && path.charAt(end - 1) <= ' ') {
+        end--;
+      }
+      if (start < end) {
+        return segment(start, end);
+      }
+    }
+    return NO_SEGMENT;
+  }
+
+  /**
+   * @return the last segment of the path located between from and to, or {@link #NO_SEGMENT}
+   */
+  private long previousSegment(String path, int from, int to) {
+    int i = to;
+    while (i > from) {
+      while (i > from && isSeparator(path.charAt(i - 1))) {
+        i--;
+      }
+      int end = i;
+      while (i > from && !isSeparator(path.charAt(i - 1))) {
+        i--;
+      }
+      int start = i;
+      while (start < end && path.charAt(start) <= ' ') {
+        start++;
+      }
+      while (end > start && path.charAt(end - 1) <= ' ') {
+        end--;
+      }
+      if (start < end) {
+        return segment(start, end);
+      }
+    }
+    return NO_SEGMENT;
+  }
+
+  private boolean isSeparator(char c) {
+    return pathSeparator.indexOf(c) > -1;
+  }
+
+  private static long segment(int start, int end) {
+    return ((long) start << 32) | end;
+  }
+
+  private static int start(long segment) {
+    return (int) (segment >>> 32);
+  }
+
+  private static int end(long segment) {
+    return (int) segment;
+  }
+
+  @Override
+  public String toString() {
+    return pattern;
+  }
+}
@@ -0,0 +1,320 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.m2e.wtp.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.Resource;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.QualifiedName;
+import org.eclipse.m2e.core.MavenPlugin;
+import org.eclipse.m2e.core.project.IMavenProjectFacade;
+import org.eclipse.m2e.core.project.IMavenProjectRegistry;
+import org.eclipse.m2e.wtp.JEEPackaging;
+import org.eclipse.m2e.wtp.MavenWtpPlugin;
+import org.eclipse.m2e.wtp.PluginConfigurationCache;
+import org.eclipse.m2e.wtp.WTPProjectsUtil;
+import org.eclipse.m2e.wtp.WarPluginConfiguration;
+import org.eclipse.m2e.wtp.preferences.IMavenWtpPreferences;
+import org.eclipse.wst.common.project.facet.core.IFacetedProject;
+import org.eclipse.wst.common.project.facet.core.IProjectFacetVersion;
+import org.eclipse.wst.common.project.facet.core.ProjectFacetsManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Computes and remembers a fingerprint of everything the Java EE configurator delegates read from a project :
+ * packaging, build settings, Java EE plugin configurations, resolved artifacts and their workspace projects,
+ * properties and m2e-wtp preferences. The currently installed facets and the component file are also part of the
+ * fingerprint, so manual facet or component changes trigger a new configuration.
+ * <p>
+ * When the fingerprint of a project matches the one stored after its last successful configuration, the
+ * configuration would be a no-op and can be skipped. Fingerprints are stored as persistent project properties,
+ * so they survive restarts. Clearing the stored fingerprint forces the next configuration to run.
+ * </p>
+ * <p>
+ * The Maven part of the fingerprint is computed once, when the fingerprint is created. The state of the project
+ * and of its workspace dependencies is read again when checking or storing the fingerprint, as the configuration
+ * changes it.
+ * </p>
+ */
+public class ConfigurationFingerprint {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ConfigurationFingerprint.class);
+
+  private static final QualifiedName FINGERPRINT_KEY = new QualifiedName(MavenWtpPlugin.ID, "configurationFingerprint"); //$NON-NLS-1$
+
+  private static final String[] PLUGIN_KEYS = {
+      "org.apache.maven.plugins:maven-war-plugin", //$NON-NLS-1$
+      "org.apache.maven.plugins:maven-ear-plugin", //$NON-NLS-1$
+      "org.apache.maven.plugins:maven-ejb-plugin", //$NON-NLS-1$
+      "org.apache.maven.plugins:maven-rar-plugin", //$NON-NLS-1$
+      "org.apache.maven.plugins:maven-acr-plugin", //$NON-NLS-1$
+      "org.apache.maven.plugins:maven-compiler-plugin" //$NON-NLS-1$
+  };
+
+  private static final String COMPONENT_FILE = ".settings/org.eclipse.wst.common.component"; //$NON-NLS-1$
+
+  private static final char SEPARATOR = '\n';
+
+  private final IProject project;
+
+  /** Inputs read from the Maven project, which the configuration doesn't change */
+  private final String mavenInputs;
+
+  /** Workspace projects resolving dependencies */
+  private final List<IMavenProjectFacade> workspaceDependencies;
+
+  /** Deployment descriptor the web facet version is read from, null for other packagings */
+  private final IFile webXml;
+
+  private ConfigurationFingerprint(IProject project, String mavenInputs, List<IMavenProjectFacade> workspaceDependencies,
+      IFile webXml) {
+    this.project = project;
+    this.mavenInputs = mavenInputs;
+    this.workspaceDependencies = workspaceDependencies;
+    this.webXml = webXml;
+  }
+
+  /**
+   * Computes the Maven part of the configuration fingerprint of a project.
+   *
+   * @return the fingerprint, or null if it can't be computed.
+   */
+  public static ConfigurationFingerprint compute(IProject project, MavenProject mavenProject) {
+    if (project == null || mavenProject == null) {
+      return null;
+    }
+    StringBuilder sb = new StringBuilder(4096);
+    sb.append(MavenWtpPlugin.getDefault().getBundle().getVersion()).append(SEPARATOR);
+
+    appendProject(sb, mavenProject);
+    appendPlugins(sb, mavenProject);
+    appendArtifacts(sb, mavenProject.getArtifacts());
+    appendProperties(sb, mavenProject);
+
+    IMavenWtpPreferences preferences = MavenWtpPlugin.getDefault().getMavenWtpPreferencesManager().getPreferences(project);
+    sb.append("preferences=") //$NON-NLS-1$
+      .append(preferences.isEnabled()).append(',')
+      .append(preferences.isApplicationXmGeneratedInBuildDirectory()).append(',')
+      .append(preferences.isWebMavenArchiverUsesBuildDirectory()).append(SEPARATOR);
+
+    IFile webXml = null;
+    if (JEEPackaging.WAR == JEEPackaging.getValue(mavenProject.getPackaging())) {
+      WarPluginConfiguration config = PluginConfigurationCache.getWarPluginConfiguration(mavenProject, project);
+      String customWebXml = config.getCustomWebXml(project);
+      webXml = customWebXml == null ? project.getFolder(config.getWarSourceDirectory()).getFile("WEB-INF/web.xml") //$NON-NLS-1$
+                                    : project.getFile(customWebXml);
+    }
+    return new ConfigurationFingerprint(project, sb.toString(), getWorkspaceDependencies(mavenProject.getArtifacts()), webXml);
+  }
+
+  /**
+   * Checks if this fingerprint matches the one stored after the last configuration of the project.
+   */
+  public boolean isUpToDate() {
+    String fingerprint = digest();
+    if (fingerprint == null) {
+      return false;
+    }
+    try {
+      return fingerprint.equals(project.getPersistentProperty(FINGERPRINT_KEY));
+    } catch (CoreException ex) {
+      LOG.warn("Unable to read the configuration fingerprint of " + project.getName(), ex); //$NON-NLS-1$
+      return false;
+    }
+  }
+
+  /**
+   * Stores this fingerprint, after a successful configuration of the project.
+   */
+  public void store() {
+    store(project, digest());
+  }
+
+  /**
+   * Forgets the stored fingerprint, forcing the next configuration of the project to run.
+   */
+  public static void clear(IProject project) {
+    store(project, null);
+  }
+
+  private static void store(IProject project, String fingerprint) {
+    if (!project.isAccessible()) {
+      return;
+    }
+    try {
+      project.setPersistentProperty(FINGERPRINT_KEY, fingerprint);
+    } catch (CoreException ex) {
+      LOG.warn("Unable to store the configuration fingerprint of " + project.getName(), ex); //$NON-NLS-1$
+    }
+  }
+
+  /**
+   * Digests the Maven inputs with the current state of the project.
+   *
+   * @return the digest, or null if the project has not been configured as a WTP project yet.
+   */
+  private String digest() {
+    if (!project.isAccessible()) {
+      return null;
+    }
+    StringBuilder sb = new StringBuilder(mavenInputs);
+    appendWorkspaceDependencies(sb, workspaceDependencies);
+    if (webXml != null) {
+      //The web facet version is read from web.xml
+      sb.append("web.xml=").append(webXml.getModificationStamp()).append(SEPARATOR); //$NON-NLS-1$
+    }
+    if (!appendProjectState(sb, project)) {
+      return null;
+    }
+    return digest(sb);
+  }
+
+  private static void appendProject(StringBuilder sb, MavenProject mavenProject) {
+    sb.append(mavenProject.getGroupId()).append(':')
+      .append(mavenProject.getArtifactId()).append(':')
+      .append(mavenProject.getVersion()).append(':')
+      .append(mavenProject.getPackaging()).append(SEPARATOR);
+    if (mavenProject.getBuild() != null) {
+      sb.append("finalName=").append(mavenProject.getBuild().getFinalName()).append(SEPARATOR) //$NON-NLS-1$
+        .append("directory=").append(mavenProject.getBuild().getDirectory()).append(SEPARATOR) //$NON-NLS-1$
+        .append("output=").append(mavenProject.getBuild().getOutputDirectory()).append(SEPARATOR) //$NON-NLS-1$
+        .append("testOutput=").append(mavenProject.getBuild().getTestOutputDirectory()).append(SEPARATOR); //$NON-NLS-1$
+    }
+    sb.append("sources=").append(mavenProject.getCompileSourceRoots()).append(SEPARATOR) //$NON-NLS-1$
+      .append("testSources=").append(mavenProject.getTestCompileSourceRoots()).append(SEPARATOR); //$NON-NLS-1$
+    appendResources(sb, "resources=", mavenProject.getResources()); //$NON-NLS-1$
+    appendResources(sb, "testResources=", mavenProject.getTestResources()); //$NON-NLS-1$
+  }
+
+  private static void appendResources(StringBuilder sb, String label, List<Resource> resources) {
+    sb.append(label);
+    if (resources != null) {
+      for (Resource resource : resources) {
+        sb.append(resource.getDirectory()).append('>').append(resource.getTargetPath()).append(';');
+      }
+    }
+    sb.append(SEPARATOR);
+  }
+
+  private static void appendPlugins(StringBuilder sb, MavenProject mavenProject) {
+    for (String key : PLUGIN_KEYS) {
+      Plugin plugin = mavenProject.getPlugin(key);
+      if (plugin != null) {
+        sb.append(key).append(':').append(plugin.getVersion()).append('=')
+          .append(plugin.getConfiguration()).append(SEPARATOR);
+      }
+    }
+  }
+
+  private static void appendArtifacts(StringBuilder sb, Set<Artifact> artifacts) {
+    if (artifacts == null || artifacts.isEmpty()) {
+      return;
+    }
+    //Dependency order matters for the deployment, so it's kept as is
+    for (Artifact a : artifacts) {
+      sb.append(a.getGroupId()).append(':').append(a.getArtifactId()).append(':').append(a.getBaseVersion()).append(':')
+        .append(a.getClassifier()).append(':').append(a.getType()).append(':').append(a.getScope()).append(':')
+        .append(a.isOptional()).append(':').append(a.getFile()).append(SEPARATOR);
+    }
+  }
+
+  /**
+   * Looks up the workspace projects resolving dependencies, which the references are built from.
+   */
+  private static List<IMavenProjectFacade> getWorkspaceDependencies(Set<Artifact> artifacts) {
+    if (artifacts == null || artifacts.isEmpty()) {
+      return Collections.emptyList();
+    }
+    IMavenProjectRegistry registry = MavenPlugin.getMavenProjectRegistry();
+    List<IMavenProjectFacade> dependencies = new ArrayList<>();
+    for (Artifact a : artifacts) {
+      IMavenProjectFacade facade = registry.getMavenProject(a.getGroupId(), a.getArtifactId(), a.getVersion());
+      if (facade != null) {
+        dependencies.add(facade);
+      }
+    }
+    return dependencies;
+  }
+
+  /**
+   * Appends the state of the workspace dependencies, which the configuration of the project may change.
+   */
+  private static void appendWorkspaceDependencies(StringBuilder sb, List<IMavenProjectFacade> dependencies) {
+    for (IMavenProjectFacade facade : dependencies) {
+      IProject dependency = facade.getProject();
+      sb.append("dependency=").append(dependency.getName()).append(':') //$NON-NLS-1$
+        .append(facade.getPackaging()).append(':')
+        .append(facade.getPom().getModificationStamp()).append(':')
+        .append(dependency.getFile(COMPONENT_FILE).getModificationStamp()).append(SEPARATOR);
+    }
+  }
+
+  private static void appendProperties(StringBuilder sb, MavenProject mavenProject) {
+    Map<String, String> properties = new TreeMap<>();
+    for (Map.Entry<Object, Object> e : mavenProject.getProperties().entrySet()) {
+      properties.put(String.valueOf(e.getKey()), String.valueOf(e.getValue()));
+    }
+    for (Map.Entry<String, String> e : properties.entrySet()) {
+      sb.append(e.getKey()).append('=').append(e.getValue()).append(SEPARATOR);
+    }
+  }
+
+  /**
+   * Appends the installed facets and the component file stamp. Returns false if the project has not been configured as a WTP project yet.
+   */
+  private static boolean appendProjectState(StringBuilder sb, IProject project) {
+    if (!WTPProjectsUtil.isWTPProject(project) || !project.getFile(COMPONENT_FILE).exists()) {
+      return false;
+    }
+    try {
+      IFacetedProject facetedProject = ProjectFacetsManager.create(project);
+      if (facetedProject == null) {
+        return false;
+      }
+      List<String> facets = new ArrayList<>();
+      for (IProjectFacetVersion fv : facetedProject.getProjectFacets()) {
+        facets.add(fv.getProjectFacet().getId() + ':' + fv.getVersionString());
+      }
+      Collections.sort(facets);
+      sb.append("facets=").append(facets).append(SEPARATOR); //$NON-NLS-1$
+      //Hand edits of the component are repaired by a new configuration
+      sb.append("component=").append(project.getFile(COMPONENT_FILE).getModificationStamp()).append(SEPARATOR); //$NON-NLS-1$
+    } catch (CoreException ex) {
+      return false;
+    }
+    return true;
+  }
+
+  private static String digest(StringBuilder sb) {
+    try {
+      MessageDigest md = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+      return HexFormat.of().formatHex(md.digest(sb.toString().getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException ex) {
+      return null;
+    }
+  }
+}
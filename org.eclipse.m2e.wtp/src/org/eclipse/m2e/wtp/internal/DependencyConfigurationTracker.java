@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.m2e.wtp.internal;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.m2e.core.project.IMavenProjectFacade;
+import org.eclipse.m2e.wtp.JEEPackaging;
+import org.eclipse.m2e.wtp.WTPProjectsUtil;
+import org.eclipse.wst.common.componentcore.ModuleCoreNature;
+
+/**
+ * Preconfigures the workspace dependencies of Java EE projects as WTP utility projects, and tracks the
+ * dependencies already configured.
+ * <p>
+ * Dependencies are configured in the given order, in the calling thread, which already owns the rules WTP
+ * needs to modify facets and natures.
+ * </p>
+ * <p>
+ * A dependency is configured only once per {@link IMavenProjectFacade} and component file : consumers of a
+ * dependency don't reconfigure it again until its pom is refreshed, or its component file changes. Closed and
+ * deleted projects are forgotten.
+ * </p>
+ */
+public class DependencyConfigurationTracker {
+
+  private static final String COMPONENT_FILE = ".settings/org.eclipse.wst.common.component"; //$NON-NLS-1$
+
+  /** The last facade and component file each project was configured from */
+  private final Map<IProject, Configuration> configured = new ConcurrentHashMap<>();
+
+  /**
+   * Configures the given dependencies which have not been configured yet.
+   */
+  public void preconfigure(Collection<IMavenProjectFacade> dependencies, IProgressMonitor monitor)
+      throws CoreException {
+    SubMonitor subMonitor = SubMonitor.convert(monitor, dependencies.size());
+    for (IMavenProjectFacade dependency : dependencies) {
+      if (dependency != null && needsConfiguration(dependency)) {
+        WTPProjectsUtil.configureWtpUtil(dependency, subMonitor.split(1));
+        IProject project = dependency.getProject();
+        configured.put(project, new Configuration(dependency, getComponentStamp(project)));
+      } else {
+        subMonitor.worked(1);
+      }
+    }
+  }
+
+  /**
+   * Forgets a configured dependency, so it's configured again by its next consumer.
+   */
+  public void forget(IProject project) {
+    configured.remove(project);
+  }
+
+  /**
+   * Forgets all configured dependencies, so they're configured again by their next consumer.
+   */
+  public void reset() {
+    configured.clear();
+  }
+
+  private boolean needsConfiguration(IMavenProjectFacade dependency) {
+    if (JEEPackaging.isJEEPackaging(dependency.getPackaging())) {
+      //Java EE projects are configured by their own configurator
+      return false;
+    }
+    IProject project = dependency.getProject();
+    Configuration configuration = configured.get(project);
+    return configuration == null || configuration.facade != dependency
+        || configuration.componentStamp != getComponentStamp(project)
+        || !ModuleCoreNature.isFlexibleProject(project);
+  }
+
+  private static long getComponentStamp(IProject project) {
+    return project.getFile(COMPONENT_FILE).getModificationStamp();
+  }
+
+  private static final class Configuration {
+
+    final IMavenProjectFacade facade;
+
+    final long componentStamp;
+
+    Configuration(IMavenProjectFacade facade, long componentStamp) {
+      this.facade = facade;
+      this.componentStamp = componentStamp;
+    }
+  }
+}
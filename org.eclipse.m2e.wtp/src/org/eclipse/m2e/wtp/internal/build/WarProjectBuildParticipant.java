@@ -31,6 +31,7 @@ import org.eclipse.m2e.core.internal.markers.SourceLocation;
 import org.eclipse.m2e.core.internal.markers.SourceLocationHelper;
 import org.eclipse.m2e.core.project.IMavenProjectFacade;
 import org.eclipse.m2e.core.project.configurator.MojoExecutionKey;
+import org.eclipse.m2e.wtp.PluginConfigurationCache;
 import org.eclipse.m2e.wtp.WTPProjectsUtil;
 import org.eclipse.m2e.wtp.WarPluginConfiguration;
 import org.eclipse.m2e.wtp.internal.Messages;
@@ -99,7 +100,7 @@ public class WarProjectBuildParticipant extends ResourceFilteringBuildParticipan
 
 		if (requiresWebXmlCheck[0]) {
 			MavenProject mavenProject = facade.getMavenProject(monitor);
-			WarPluginConfiguration warConfig = new WarPluginConfiguration(mavenProject, project);
+			WarPluginConfiguration warConfig = PluginConfigurationCache.getWarPluginConfiguration(mavenProject, project);
 			if (warConfig.isFailOnMissingWebXml() 
 					   && isWebXmlMissing(project)) {
 				
@@ -23,6 +23,7 @@ import org.eclipse.m2e.wtp.DeploymentDescriptorManagement;
 import org.eclipse.m2e.wtp.EarPluginConfiguration;
 import org.eclipse.m2e.wtp.MavenWtpConstants;
 import org.eclipse.m2e.wtp.MavenWtpPlugin;
+import org.eclipse.m2e.wtp.PluginConfigurationCache;
 import org.eclipse.m2e.wtp.ProjectUtils;
 import org.eclipse.m2e.wtp.preferences.IMavenWtpPreferencesManager;
 
@@ -46,7 +47,7 @@ public class EarResourceBuildParticipant extends ResourceFilteringBuildParticipa
     
     IProject project = facade.getProject();
     MavenProject mavenProject = facade.getMavenProject(monitor);
-    EarPluginConfiguration config = new EarPluginConfiguration(mavenProject);
+    EarPluginConfiguration config = PluginConfigurationCache.getEarPluginConfiguration(mavenProject);
     if (!config.isGenerateApplicationXml()) {
     	return null;
     }
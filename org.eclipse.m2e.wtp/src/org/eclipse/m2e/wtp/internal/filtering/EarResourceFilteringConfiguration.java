@@ -23,6 +23,7 @@ import org.eclipse.m2e.core.project.IMavenProjectFacade;
 import org.eclipse.m2e.core.project.MavenProjectUtils;
 import org.eclipse.m2e.wtp.EarPluginConfiguration;
 import org.eclipse.m2e.wtp.MavenWtpConstants;
+import org.eclipse.m2e.wtp.PluginConfigurationCache;
 import org.eclipse.m2e.wtp.ProjectUtils;
 import org.eclipse.m2e.wtp.WTPProjectsUtil;
 
@@ -37,7 +38,7 @@ public class EarResourceFilteringConfiguration extends AbstractResourceFiltering
 
 	public EarResourceFilteringConfiguration(IMavenProjectFacade mavenProjectFacade) {
 		super(mavenProjectFacade);
-		earPluginConfiguration = new EarPluginConfiguration(mavenProjectFacade.getMavenProject());
+		earPluginConfiguration = PluginConfigurationCache.getEarPluginConfiguration(mavenProjectFacade.getMavenProject());
 		pluginConfiguration = earPluginConfiguration;
 	}
 
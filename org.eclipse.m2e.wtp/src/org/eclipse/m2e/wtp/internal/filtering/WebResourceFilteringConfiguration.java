@@ -20,6 +20,7 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.m2e.core.project.IMavenProjectFacade;
 import org.eclipse.m2e.wtp.MavenWtpConstants;
+import org.eclipse.m2e.wtp.PluginConfigurationCache;
 import org.eclipse.m2e.wtp.ProjectUtils;
 import org.eclipse.m2e.wtp.WarPluginConfiguration;
 
@@ -36,7 +37,7 @@ public class WebResourceFilteringConfiguration extends AbstractResourceFiltering
   
   public WebResourceFilteringConfiguration(IMavenProjectFacade mavenProjectFacade) {
     super(mavenProjectFacade);
-    warPluginConfiguration = new WarPluginConfiguration(mavenProjectFacade.getMavenProject(), mavenProjectFacade.getProject());
+    warPluginConfiguration = PluginConfigurationCache.getWarPluginConfiguration(mavenProjectFacade.getMavenProject(), mavenProjectFacade.getProject());
     pluginConfiguration = warPluginConfiguration;
   }
 
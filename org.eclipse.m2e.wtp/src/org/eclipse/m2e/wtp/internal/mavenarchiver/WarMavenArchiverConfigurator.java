@@ -17,6 +17,7 @@ import org.eclipse.m2e.core.project.IMavenProjectFacade;
 import org.eclipse.m2e.core.project.configurator.MojoExecutionKey;
 import org.eclipse.m2e.wtp.MavenWtpConstants;
 import org.eclipse.m2e.wtp.MavenWtpPlugin;
+import org.eclipse.m2e.wtp.PluginConfigurationCache;
 import org.eclipse.m2e.wtp.ProjectUtils;
 import org.eclipse.m2e.wtp.WarPluginConfiguration;
 import org.eclipse.m2e.wtp.mavenarchiver.AbstractWTPArchiverConfigurator;
@@ -35,7 +36,7 @@ public class WarMavenArchiverConfigurator extends AbstractWTPArchiverConfigurato
     IProject project = facade.getProject();
     MavenProject mavenProject = facade.getMavenProject();
     
-    WarPluginConfiguration warPluginConfiguration = new WarPluginConfiguration(mavenProject, project);
+    WarPluginConfiguration warPluginConfiguration = PluginConfigurationCache.getWarPluginConfiguration(mavenProject, project);
     
     if (MavenWtpPlugin.getDefault().getMavenWtpPreferencesManager().getPreferences(project).isWebMavenArchiverUsesBuildDirectory()
         || warPluginConfiguration.getWebResources() != null && warPluginConfiguration.getWebResources().length > 0 //Uses filtering
@@ -27,6 +27,18 @@ public class MavenWtpPreferencesImpl implements IMavenWtpPreferences {
   private boolean isEnabledProjectSpecificSettings; 
   
   private boolean isWebMavenArchiverUsesBuildDirectory;
+
+  /**
+   * Returns a copy of these preferences, the caller may modify.
+   */
+  MavenWtpPreferencesImpl copy() {
+    MavenWtpPreferencesImpl copy = new MavenWtpPreferencesImpl();
+    copy.isEnabled = isEnabled;
+    copy.isApplicationXmGeneratedInBuildDirectory = isApplicationXmGeneratedInBuildDirectory;
+    copy.isEnabledProjectSpecificSettings = isEnabledProjectSpecificSettings;
+    copy.isWebMavenArchiverUsesBuildDirectory = isWebMavenArchiverUsesBuildDirectory;
+    return copy;
+  }
   
   @Override
   public boolean isApplicationXmGeneratedInBuildDirectory() {
@@ -12,14 +12,25 @@ package org.eclipse.m2e.wtp.internal.preferences;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.ProjectScope;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtensionRegistry;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.PreferenceChangeEvent;
 import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.eclipse.m2e.wtp.MavenWtpPlugin;
 import org.eclipse.m2e.wtp.internal.Messages;
@@ -33,7 +44,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * An implementation of IMavenWtpPreferencesManager
+ * An implementation of IMavenWtpPreferencesManager.
+ * <p>
+ * Project and workspace preferences are cached as snapshots, flushed by preference change
+ * listeners on the corresponding workspace and project nodes, and dropped when a project is closed
+ * or deleted. Callers always get a copy, the snapshots are never exposed.
+ * </p>
  *
  * @author Fred Bricon
  */
@@ -51,20 +67,150 @@ public class MavenWtpPreferencesManagerImpl implements IMavenWtpPreferencesManag
 
   private List<ConfiguratorEnabler> enablers;
 
+  private volatile Map<String, ConfiguratorEnabler> enablersByConfiguratorId;
+
+  private final Map<IProject, ProjectPreferences> projectPreferences = new ConcurrentHashMap<>();
+
+  private final Map<IProject, ProjectPreferencesListener> projectListeners = new ConcurrentHashMap<>();
+
+  private volatile MavenWtpPreferencesImpl workspacePreferences;
+
+  /** Incremented on every preference change, so snapshots read concurrently are not cached */
+  private final AtomicLong generation = new AtomicLong();
+
+  private final IEclipsePreferences workspaceNode;
+
+  private final IPreferenceChangeListener workspaceListener = this::workspacePreferenceChanged;
+
+  private final IResourceChangeListener projectListener = this::projectClosedOrDeleted;
+
+  private final List<InvalidationListener> invalidationListeners = new CopyOnWriteArrayList<>();
+
+  public MavenWtpPreferencesManagerImpl() {
+    workspaceNode = getEclipsePreferences();
+    workspaceNode.addPreferenceChangeListener(workspaceListener);
+    ResourcesPlugin.getWorkspace().addResourceChangeListener(projectListener,
+        IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE);
+  }
+
   /**
    * @see org.eclipse.m2e.wtp.preferences.IMavenWtpPreferencesManager#getPreferences(org.eclipse.core.resources.IProject)
    */
   @Override
   public IMavenWtpPreferences getPreferences(IProject project) {
+    return getSnapshot(project).copy();
+  }
+
+  private MavenWtpPreferencesImpl getSnapshot(IProject project) {
     if (project == null) {
-      return loadWorkspacePreferences();
+      return getWorkspaceSnapshot();
     }
-    
+
+    ProjectPreferences cached = projectPreferences.get(project);
+    if (cached != null && cached.isValid()) {
+      return cached.preferences;
+    }
+
+    long currentGeneration = generation.get();
     IEclipsePreferences eclipsePrefs = getEclipsePreferences(project);
+    MavenWtpPreferencesImpl preferences;
     if (eclipsePrefs.getBoolean(MavenWtpPreferencesConstants.P_ENABLED_PROJECT_SPECIFIC__PREFS, false)) {
-      return convertPreferences(eclipsePrefs);
+      preferences = convertPreferences(eclipsePrefs);
+    } else {
+      preferences = getWorkspaceSnapshot();
+    }
+    listenToProjectPreferences(project, eclipsePrefs);
+    if (currentGeneration == generation.get()) {
+      projectPreferences.put(project, new ProjectPreferences(eclipsePrefs, preferences));
+    }
+    return preferences;
+  }
+
+  private void listenToProjectPreferences(IProject project, IEclipsePreferences eclipsePrefs) {
+    ProjectPreferencesListener listener = projectListeners.get(project);
+    if (listener == null || listener.node != eclipsePrefs) {
+      //First read, or the project was recreated
+      listener = new ProjectPreferencesListener(project, eclipsePrefs);
+      eclipsePrefs.addPreferenceChangeListener(listener);
+      projectListeners.put(project, listener);
     }
-    return loadWorkspacePreferences();    
+  }
+
+  private MavenWtpPreferencesImpl getWorkspaceSnapshot() {
+    MavenWtpPreferencesImpl preferences = workspacePreferences;
+    if (preferences == null) {
+      long currentGeneration = generation.get();
+      preferences = convertPreferences(workspaceNode);
+      if (currentGeneration == generation.get()) {
+        workspacePreferences = preferences;
+      }
+    }
+    return preferences;
+  }
+
+  /**
+   * Returns a counter incremented every time cached preferences are invalidated. Callers caching values
+   * derived from the preferences compare it before and after computing them, to not cache a value
+   * computed concurrently with an invalidation.
+   */
+  public long getGeneration() {
+    return generation.get();
+  }
+
+  /**
+   * Adds a listener notified every time cached preferences are invalidated.
+   */
+  public void addInvalidationListener(InvalidationListener listener) {
+    invalidationListeners.add(listener);
+  }
+
+  /**
+   * Removes a listener added by {@link #addInvalidationListener(InvalidationListener)}.
+   */
+  public void removeInvalidationListener(InvalidationListener listener) {
+    invalidationListeners.remove(listener);
+  }
+
+  private void invalidated(IProject project) {
+    for (InvalidationListener listener : invalidationListeners) {
+      listener.invalidated(project);
+    }
+  }
+
+  private void workspacePreferenceChanged(PreferenceChangeEvent event) {
+    generation.incrementAndGet();
+    workspacePreferences = null;
+    //Projects without specific settings share the workspace snapshot
+    projectPreferences.clear();
+    invalidated(null);
+  }
+
+  private void projectClosedOrDeleted(IResourceChangeEvent event) {
+    IResource resource = event.getResource();
+    if (resource instanceof IProject project) {
+      generation.incrementAndGet();
+      projectPreferences.remove(project);
+      ProjectPreferencesListener listener = projectListeners.remove(project);
+      if (listener != null) {
+        listener.dispose();
+      }
+      invalidated(project);
+    }
+  }
+
+  /**
+   * Stops listening to preference and project changes.
+   */
+  public void dispose() {
+    ResourcesPlugin.getWorkspace().removeResourceChangeListener(projectListener);
+    workspaceNode.removePreferenceChangeListener(workspaceListener);
+    for (ProjectPreferencesListener listener : projectListeners.values()) {
+      listener.dispose();
+    }
+    projectListeners.clear();
+    projectPreferences.clear();
+    invalidationListeners.clear();
+    workspacePreferences = null;
   }
 
   /**
@@ -80,6 +226,7 @@ public class MavenWtpPreferencesManagerImpl implements IMavenWtpPreferencesManag
    */
   @Override
   public IMavenWtpPreferences getWorkspacePreferences() {
+    //Not shared, callers are allowed to modify it
     return loadWorkspacePreferences();
   }
 
@@ -127,8 +274,8 @@ public class MavenWtpPreferencesManagerImpl implements IMavenWtpPreferencesManag
     eclipsePrefs.putBoolean(MavenWtpPreferencesConstants.P_ENABLE_M2EWTP, preferences.isEnabled());
   }
 
-  private IMavenWtpPreferences convertPreferences(IEclipsePreferences eclipsePrefs) {
-    IMavenWtpPreferences preferences = createNewPreferences();
+  private MavenWtpPreferencesImpl convertPreferences(IEclipsePreferences eclipsePrefs) {
+    MavenWtpPreferencesImpl preferences = new MavenWtpPreferencesImpl();
     preferences.setEnabledProjectSpecificSettings(eclipsePrefs.getBoolean(MavenWtpPreferencesConstants.P_ENABLED_PROJECT_SPECIFIC__PREFS, false));
     preferences.setApplicationXmGeneratedInBuildDirectory(eclipsePrefs.getBoolean(MavenWtpPreferencesConstants.P_APPLICATION_XML_IN_BUILD_DIR, true));
     preferences.setWebMavenArchiverUsesBuildDirectory(eclipsePrefs.getBoolean(MavenWtpPreferencesConstants.P_WEB_MAVENARCHIVER_IN_BUILD_DIR, true));
@@ -148,14 +295,28 @@ public class MavenWtpPreferencesManagerImpl implements IMavenWtpPreferencesManag
 
   @Override
   public ConfiguratorEnabler[] getConfiguratorEnablers() {
-    if (enablers == null) {
-      enablers = loadConfiguratorEnablers();
-    }
+    List<ConfiguratorEnabler> enablers = getEnablers();
     ConfiguratorEnabler[] enablersArray = new ConfiguratorEnabler[enablers.size()];
     enablers.toArray(enablersArray);
     return enablersArray;
   }
 
+  private synchronized List<ConfiguratorEnabler> getEnablers() {
+    if (enablers == null) {
+      List<ConfiguratorEnabler> loadedEnablers = loadConfiguratorEnablers();
+      Map<String, ConfiguratorEnabler> byConfiguratorId = new HashMap<>();
+      for (ConfiguratorEnabler enabler : loadedEnablers) {
+        for (String configuratorId : enabler.getConfiguratorIds()) {
+          //The first enabler applying to a configurator wins
+          byConfiguratorId.putIfAbsent(configuratorId, enabler);
+        }
+      }
+      enablersByConfiguratorId = byConfiguratorId;
+      enablers = loadedEnablers;
+    }
+    return enablers;
+  }
+
   private static List<ConfiguratorEnabler> loadConfiguratorEnablers() {
     IExtensionRegistry registry = Platform.getExtensionRegistry();
     IConfigurationElement[] enablerConfigs = registry.getConfigurationElementsFor(CONFIGURATOR_ENABLER_EXTENSION_POINT);
@@ -182,12 +343,80 @@ public class MavenWtpPreferencesManagerImpl implements IMavenWtpPreferencesManag
    */
   @Override
   public boolean isEnabled(String configuratorId) {
-    for (ConfiguratorEnabler enabler : getConfiguratorEnablers()) {
-      if (enabler.appliesTo(configuratorId)) {
-        return enabler.isEnabled();
+    Map<String, ConfiguratorEnabler> byConfiguratorId = enablersByConfiguratorId;
+    if (byConfiguratorId == null) {
+      getEnablers();
+      byConfiguratorId = enablersByConfiguratorId;
+    }
+    ConfiguratorEnabler enabler = byConfiguratorId.get(configuratorId);
+    return enabler == null || enabler.isEnabled();
+  }
+
+  /**
+   * Notified when cached preferences are invalidated.
+   */
+  public interface InvalidationListener {
+
+    /**
+     * Called when the preferences of a project changed, or when the project is closed or deleted.
+     *
+     * @param project the project, or <code>null</code> when the workspace preferences changed, which
+     *          invalidates all projects
+     */
+    void invalidated(IProject project);
+  }
+
+  /**
+   * Cached preferences of a project.
+   */
+  private static final class ProjectPreferences {
+
+    final IEclipsePreferences node;
+
+    final MavenWtpPreferencesImpl preferences;
+
+    ProjectPreferences(IEclipsePreferences node, MavenWtpPreferencesImpl preferences) {
+      this.node = node;
+      this.preferences = preferences;
+    }
+
+    boolean isValid() {
+      try {
+        //The node is removed when the project is deleted
+        return node.nodeExists(""); //$NON-NLS-1$
+      } catch (BackingStoreException ex) {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Forgets the preferences of a project as soon as they change.
+   */
+  private final class ProjectPreferencesListener implements IPreferenceChangeListener {
+
+    final IProject project;
+
+    final IEclipsePreferences node;
+
+    ProjectPreferencesListener(IProject project, IEclipsePreferences node) {
+      this.project = project;
+      this.node = node;
+    }
+
+    @Override
+    public void preferenceChange(PreferenceChangeEvent event) {
+      generation.incrementAndGet();
+      projectPreferences.remove(project);
+      invalidated(project);
+    }
+
+    void dispose() {
+      try {
+        node.removePreferenceChangeListener(this);
+      } catch (IllegalStateException ex) {
+        //The project preferences were removed already
       }
     }
-    return true;
   }
-  
 }
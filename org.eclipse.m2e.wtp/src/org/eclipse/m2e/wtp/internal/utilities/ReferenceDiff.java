@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.m2e.wtp.internal.utilities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.wst.common.componentcore.resources.IVirtualComponent;
+import org.eclipse.wst.common.componentcore.resources.IVirtualReference;
+
+/**
+ * Difference between the existing references of a component and the ones it should have.
+ * <p>
+ * References are identified by their referenced component, runtime path and archive name. A reference
+ * present on both sides but with a different dependency type is modified. Reordered references are
+ * not a change, unless the diff is {@link #computeOrdered(IVirtualReference[], IVirtualReference[]) ordered}.
+ * </p>
+ * Applying the diff only writes the .component file when something actually changed, and appends
+ * new references when nothing was removed and appending keeps the expected order, instead of rewriting
+ * all of them.
+ */
+public final class ReferenceDiff {
+
+  private final List<IVirtualReference> added = new ArrayList<>();
+
+  private final List<IVirtualReference> removed = new ArrayList<>();
+
+  private final List<IVirtualReference> modified = new ArrayList<>();
+
+  /** The wanted references, in their expected order */
+  private final List<IVirtualReference> wanted;
+
+  /** The existing references to keep, in their current order, with the modified ones replaced */
+  private final List<IVirtualReference> kept = new ArrayList<>();
+
+  private final boolean ordered;
+
+  private boolean reordered;
+
+  private boolean appendable;
+
+  private ReferenceDiff(IVirtualReference[] existingRefs, IVirtualReference[] wantedRefs, boolean ordered) {
+    this.ordered = ordered;
+    this.wanted = wantedRefs == null ? Collections.<IVirtualReference>emptyList() : List.of(wantedRefs);
+
+    Map<Key, IVirtualReference> wantedByKey = new LinkedHashMap<>();
+    for (IVirtualReference ref : wanted) {
+      wantedByKey.putIfAbsent(new Key(ref, !ordered), ref);
+    }
+
+    List<Key> commonKeys = new ArrayList<>();
+    if (existingRefs != null) {
+      for (IVirtualReference existingRef : existingRefs) {
+        Key key = new Key(existingRef, !ordered);
+        IVirtualReference wantedRef = wantedByKey.remove(key);
+        if (wantedRef == null) {
+          //Not wanted, or a duplicate
+          removed.add(existingRef);
+        } else if (existingRef.getDependencyType() != wantedRef.getDependencyType()) {
+          modified.add(wantedRef);
+          kept.add(wantedRef);
+          commonKeys.add(key);
+        } else {
+          kept.add(existingRef);
+          commonKeys.add(key);
+        }
+      }
+    }
+    added.addAll(wantedByKey.values());
+
+    //Check if the references present on both sides are in the same relative order
+    Set<Key> pending = new HashSet<>(commonKeys);
+    Iterator<Key> common = commonKeys.iterator();
+    for (IVirtualReference ref : wanted) {
+      Key key = new Key(ref, !ordered);
+      if (pending.remove(key) && !key.equals(common.next())) {
+        reordered = true;
+        break;
+      }
+    }
+    //Appending the new references keeps the wanted order if they're all after the existing ones
+    appendable = !reordered;
+    if (ordered && appendable && !added.isEmpty()) {
+      List<IVirtualReference> appended = new ArrayList<>(kept);
+      appended.addAll(added);
+      appendable = appended.size() == wanted.size();
+      for (int i = 0; appendable && i < wanted.size(); i++) {
+        appendable = new Key(appended.get(i), false).equals(new Key(wanted.get(i), false));
+      }
+    }
+  }
+
+  /**
+   * Computes the difference between existing and wanted references, ignoring their order.
+   */
+  public static ReferenceDiff compute(IVirtualReference[] existingRefs, IVirtualReference[] wantedRefs) {
+    return new ReferenceDiff(existingRefs, wantedRefs, false);
+  }
+
+  /**
+   * Computes the difference between existing and wanted references, for references whose order
+   * is significant, like overlays. References are identified by their referenced component and runtime path only.
+   */
+  public static ReferenceDiff computeOrdered(IVirtualReference[] existingRefs, IVirtualReference[] wantedRefs) {
+    return new ReferenceDiff(existingRefs, wantedRefs, true);
+  }
+
+  public List<IVirtualReference> getAdded() {
+    return Collections.unmodifiableList(added);
+  }
+
+  public List<IVirtualReference> getRemoved() {
+    return Collections.unmodifiableList(removed);
+  }
+
+  public List<IVirtualReference> getModified() {
+    return Collections.unmodifiableList(modified);
+  }
+
+  /**
+   * @return true if the references present on both sides are not in the same order.
+   */
+  public boolean isReordered() {
+    return reordered;
+  }
+
+  /**
+   * @return true if the component references need to be updated.
+   */
+  public boolean hasChanges() {
+    return !added.isEmpty() || !removed.isEmpty() || !modified.isEmpty() || (ordered && reordered);
+  }
+
+  /**
+   * Applies the difference to the component.
+   *
+   * @param component the component to update
+   * @param otherRefs the other hard references of the component, not covered by this diff, to keep. Can be null.
+   * @param othersFirst whether the other references are placed before the diffed ones, when all references are rewritten
+   * @return true if the component references were modified
+   */
+  public boolean apply(IVirtualComponent component, IVirtualReference[] otherRefs, boolean othersFirst) {
+    if (!hasChanges()) {
+      return false;
+    }
+    //Appended references go after the other ones, which is only right if the others come first
+    boolean othersBefore = othersFirst || otherRefs == null || otherRefs.length == 0;
+    if (removed.isEmpty() && modified.isEmpty() && appendable && othersBefore) {
+      //Only additions, existing references are left untouched
+      component.addReferences(added.toArray(new IVirtualReference[added.size()]));
+      return true;
+    }
+
+    List<IVirtualReference> refs;
+    if (ordered) {
+      refs = wanted;
+    } else {
+      refs = new ArrayList<>(kept.size() + added.size());
+      refs.addAll(kept);
+      refs.addAll(added);
+    }
+    List<IVirtualReference> allRefs = new ArrayList<>(refs.size() + (otherRefs == null ? 0 : otherRefs.length));
+    if (otherRefs != null && othersFirst) {
+      Collections.addAll(allRefs, otherRefs);
+    }
+    allRefs.addAll(refs);
+    if (otherRefs != null && !othersFirst) {
+      Collections.addAll(allRefs, otherRefs);
+    }
+    component.setReferences(allRefs.toArray(new IVirtualReference[allRefs.size()]));
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return "added=" + added.size() + ", removed=" + removed.size() + ", modified=" + modified.size() //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        + ", reordered=" + reordered; //$NON-NLS-1$
+  }
+
+  private static final class Key {
+
+    private final IVirtualComponent component;
+
+    private final IPath runtimePath;
+
+    private final String archiveName;
+
+    Key(IVirtualReference ref, boolean withArchiveName) {
+      component = ref.getReferencedComponent();
+      runtimePath = ref.getRuntimePath();
+      archiveName = withArchiveName ? ref.getArchiveName() : null;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(component, runtimePath, archiveName);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key other)) {
+        return false;
+      }
+      return Objects.equals(component, other.component) && Objects.equals(runtimePath, other.runtimePath)
+          && Objects.equals(archiveName, other.archiveName);
+    }
+  }
+}
@@ -10,6 +10,7 @@
 
 package org.eclipse.m2e.wtp.preferences;
 
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
@@ -95,6 +96,14 @@ public class ConfiguratorEnabler {
     return getId() + ".enabled"; //$NON-NLS-1$
   }
 
+  /**
+   * @return the ids of the project configurators controlled by this enabler.
+   * @since 1.7
+   */
+  public Set<String> getConfiguratorIds() {
+    return Collections.unmodifiableSet(projectConfiguratorIds);
+  }
+
   /**
    * @return true if the given <code>configuratorId</code> is controlled by this enabler.
    */